@@ -0,0 +1,54 @@
+package project.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import project.game.objects.collidables.CollisionInfo;
+import project.geometry.Line;
+
+/**
+ * {@link CollisionBenchmarks} measures {@link project.game.GameEnvironment#getClosestCollision(Line)} for
+ *  short trajectories, in a scene of {@link project.game.objects.collidables.block.Block} objects.
+ * Built against the baseline sources(see the baseline profile of the pom) this measures the linear scan the
+ *  environment started with, so both versions are measured by the same code on the same scene.
+ */
+@State(Scope.Thread)
+public class CollisionBenchmarks {
+
+    // a ball moves about this far in one frame
+    static final double STEP_LENGTH = 10;
+
+    static final long SEED = 89111;
+    static final double DT = 1D / 60;
+
+    @Param({"10", "100", "1000"})
+    private int blocks;
+
+    private CollisionScene scene;
+    private int next;
+
+    /**
+     * Create the scene.
+     */
+    @Setup
+    public void setUp() {
+        this.scene = new CollisionScene(this.blocks, STEP_LENGTH, SEED);
+        this.scene.addBlocks();
+    }
+
+    /**
+     * Measure the closest collision of the next trajectory of the scene.
+     * @return the collision, or null if there's none
+     */
+    @Benchmark
+    public CollisionInfo closestCollision() {
+        Line[] trajectories = this.scene.trajectories();
+        int i = this.next;
+        this.next = (i + 1) % trajectories.length;
+
+        return this.scene.environment().getClosestCollision(trajectories[i]);
+    }
+}
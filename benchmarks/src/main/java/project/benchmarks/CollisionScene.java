@@ -0,0 +1,178 @@
+package project.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import project.game.GameEnvironment;
+import project.game.GameLevel;
+import project.game.objects.collidables.block.Block;
+import project.geometry.Line;
+import project.geometry.Point;
+
+/**
+ * {@link CollisionScene} is a reproducible game environment for benchmarks.
+ * It is a closed box of the size of a level, with room for a given amount of blocks laid out in rows at
+ *  its top, and a set of random trajectories below and between them.
+ * The box is made of {@link Block} objects when the scene is constructed, the blocks inside it are only
+ *  laid out, and added by {@link #addBlocks()} or by the caller(from their positions).
+ * Only the API the game had from the start is used here, so the scene is the same for every version of the
+ *  game the benchmarks are built against.
+ */
+public class CollisionScene {
+
+    public static final int BORDER = GameLevel.BOUNDING_BLOCK_WIDTH;
+
+    // the area the blocks are laid in
+    private static final int BLOCKS_TOP = GameLevel.TOPBAR_HEIGHT + BORDER;
+    private static final int BLOCKS_HEIGHT = 350;
+
+    private static final int TRAJECTORIES = 1024;
+
+    private final GameEnvironment environment;
+    private final List<Block> blocks;
+    private final Line[] trajectories;
+
+    // the layout of the blocks inside the box
+    private final int blockCount;
+    private final int columns;
+    private final int blockWidth;
+    private final int blockHeight;
+
+    /**
+     * Construct a new scene.
+     * @param blockCount : the amount of blocks
+     * @param trajectoryLength : the maximum length of the random trajectories
+     * @param seed : the seed of the random trajectories
+     */
+    public CollisionScene(int blockCount, double trajectoryLength, long seed) {
+        this.environment = new GameEnvironment();
+        this.blocks = new ArrayList<>();
+
+        /* the box around the scene, the bottom is a wall as well so nothing leaves it */
+        int width = GameLevel.WIDTH;
+        int height = GameLevel.HEIGHT;
+        addBlock(new Block(new Point(0, GameLevel.TOPBAR_HEIGHT), BORDER, height - GameLevel.TOPBAR_HEIGHT));
+        addBlock(new Block(new Point(width - BORDER, GameLevel.TOPBAR_HEIGHT), BORDER,
+                height - GameLevel.TOPBAR_HEIGHT));
+        addBlock(new Block(new Point(0, GameLevel.TOPBAR_HEIGHT), width, BORDER));
+        addBlock(new Block(new Point(0, height - BORDER), width, BORDER));
+
+        /* lay the blocks in rows, keeping the proportions of the blocks area */
+        int innerWidth = width - 2 * BORDER;
+        int rows;
+
+        this.blockCount = blockCount;
+        this.columns = (int) Math.ceil(Math.sqrt((double) blockCount * innerWidth / BLOCKS_HEIGHT));
+        rows = (blockCount + this.columns - 1) / this.columns;
+
+        this.blockWidth = innerWidth / this.columns;
+        this.blockHeight = BLOCKS_HEIGHT / rows;
+
+        /* random trajectories inside the box */
+        Random random = new Random(seed);
+        this.trajectories = new Line[TRAJECTORIES];
+
+        for (int i = 0; i < this.trajectories.length; i++) {
+            double x = BORDER + 1 + random.nextDouble() * (innerWidth - 2);
+            double y = BLOCKS_TOP + 1 + random.nextDouble() * (height - BLOCKS_TOP - BORDER - 2);
+
+            double angle = random.nextDouble() * 2 * Math.PI;
+            double length = random.nextDouble() * trajectoryLength;
+
+            this.trajectories[i] = new Line(x, y, x + Math.cos(angle) * length, y + Math.sin(angle) * length);
+        }
+    }
+
+    /**
+     * Add the blocks inside the box to the environment of this scene as {@link Block} objects.
+     */
+    public void addBlocks() {
+        for (int i = 0; i < this.blockCount; i++) {
+            addBlock(new Block(new Point(blockX(i), blockY(i)), this.blockWidth, this.blockHeight));
+        }
+    }
+
+    /**
+     * Add a block to the environment of this scene.
+     * @param block : the block
+     */
+    private void addBlock(Block block) {
+        this.environment.addCollidable(block);
+        this.blocks.add(block);
+    }
+
+    /**
+     * Get the amount of blocks inside the box.
+     * @return the amount
+     */
+    public int blockCount() {
+        return this.blockCount;
+    }
+
+    /**
+     * Get the left x of a block inside the box.
+     * @param i : the index of the block, in [0, blockCount())
+     * @return the x position
+     */
+    public int blockX(int i) {
+        return BORDER + (i % this.columns) * this.blockWidth;
+    }
+
+    /**
+     * Get the top y of a block inside the box.
+     * @param i : the index of the block, in [0, blockCount())
+     * @return the y position
+     */
+    public int blockY(int i) {
+        return BLOCKS_TOP + (i / this.columns) * this.blockHeight;
+    }
+
+    /**
+     * Get the width of the blocks inside the box.
+     * @return the width
+     */
+    public int blockWidth() {
+        return this.blockWidth;
+    }
+
+    /**
+     * Get the height of the blocks inside the box.
+     * @return the height
+     */
+    public int blockHeight() {
+        return this.blockHeight;
+    }
+
+    /**
+     * Get the environment of this scene.
+     * @return the environment
+     */
+    public GameEnvironment environment() {
+        return this.environment;
+    }
+
+    /**
+     * Get all the {@link Block} objects added to this scene, including the box around it.
+     * @return the blocks
+     */
+    public List<Block> blocks() {
+        return this.blocks;
+    }
+
+    /**
+     * Get the random trajectories of this scene.
+     * @return the trajectories
+     */
+    public Line[] trajectories() {
+        return this.trajectories;
+    }
+
+    /**
+     * Get the middle of the empty part of the scene, below the blocks.
+     * @return a point instance
+     */
+    public Point emptyMiddle() {
+        return new Point(GameLevel.WIDTH / 2, (BLOCKS_TOP + BLOCKS_HEIGHT + GameLevel.HEIGHT - BORDER) / 2);
+    }
+}
@@ -0,0 +1,78 @@
+package project.benchmarks;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import project.geometry.Line;
+import project.geometry.Point;
+import project.geometry.Rectangle;
+
+/**
+ * {@link GeometryBenchmarks} measures the geometry primitives over random lines and rectangles in the area
+ *  of a level.
+ */
+@State(Scope.Thread)
+public class GeometryBenchmarks {
+
+    private static final int SAMPLES = 1024;
+    private static final long SEED = 2018;
+
+    private Line[] lines;
+    private Rectangle[] rects;
+    private int next;
+
+    /**
+     * Create the random lines and rectangles.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED);
+
+        this.lines = new Line[SAMPLES];
+        this.rects = new Rectangle[SAMPLES];
+
+        for (int i = 0; i < this.lines.length; i++) {
+            this.lines[i] = new Line(random.nextInt(800), random.nextInt(600), random.nextInt(800),
+                    random.nextInt(600));
+        }
+
+        for (int i = 0; i < this.rects.length; i++) {
+            Point upperLeft = new Point(random.nextInt(700), random.nextInt(500));
+            this.rects[i] = new Rectangle(upperLeft, 1 + random.nextInt(100), 1 + random.nextInt(100));
+        }
+    }
+
+    /**
+     * Get the index of the next sample.
+     * @return the index
+     */
+    private int nextIndex() {
+        int i = this.next;
+        this.next = (i + 1) & (SAMPLES - 1);
+        return i;
+    }
+
+    /**
+     * Measure {@link Line#intersectionWith(Line)} over random pairs of lines.
+     * @return the intersection point, or null if there's none
+     */
+    @Benchmark
+    public Point lineIntersection() {
+        int i = nextIndex();
+        return this.lines[i].intersectionWith(this.lines[this.next]);
+    }
+
+    /**
+     * Measure {@link Rectangle#intersections(Line)} over random rectangles and lines.
+     * @return the amount of intersections
+     */
+    @Benchmark
+    public int rectangleIntersections() {
+        int i = nextIndex();
+        return this.rects[i].intersections(this.lines[i]).size();
+    }
+}
@@ -0,0 +1,67 @@
+package project.benchmarks;
+
+import java.awt.Color;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import project.game.SpriteCollection;
+import project.game.objects.collidables.Ball;
+import project.game.objects.collidables.block.Block;
+import project.geometry.Point;
+
+/**
+ * {@link SpriteBenchmarks} measures {@link SpriteCollection#notifyAllTimePassed()} for a scene with 100
+ *  blocks and a given amount of balls.
+ */
+@State(Scope.Thread)
+public class SpriteBenchmarks {
+
+    @Param({"1", "10", "100"})
+    private int balls;
+
+    private SpriteCollection sprites;
+
+    /**
+     * Create the scene, the balls and the sprites collection.
+     */
+    @Setup
+    public void setUp() {
+        CollisionScene scene = new CollisionScene(100, CollisionBenchmarks.STEP_LENGTH, CollisionBenchmarks.SEED);
+        scene.addBlocks();
+
+        this.sprites = new SpriteCollection();
+
+        for (Block block : scene.blocks()) {
+            this.sprites.addSprite(block);
+        }
+
+        Random random = new Random(CollisionBenchmarks.SEED);
+        Point middle = scene.emptyMiddle();
+
+        for (int i = 0; i < this.balls; i++) {
+            Point center = new Point(middle.getX() + random.nextInt(200) - 100,
+                    middle.getY() + random.nextInt(60) - 30);
+
+            Ball ball = new Ball(center, 5, Color.WHITE);
+            ball.setVelocity(random.nextInt(600) - 300, -200 - random.nextInt(400));
+
+            scene.environment().addCollidable(ball);
+            this.sprites.addSprite(ball);
+        }
+
+        this.sprites.setTimePassed(CollisionBenchmarks.DT);
+    }
+
+    /**
+     * Measure one frame of all the sprites.
+     */
+    @Benchmark
+    public void notifyAllTimePassed() {
+        this.sprites.notifyAllTimePassed();
+    }
+}
@@ -0,0 +1,48 @@
+package project.benchmarks;
+
+import java.awt.Color;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import project.game.objects.collidables.Ball;
+
+/**
+ * {@link StoredBallBenchmarks} measures {@link Ball#timePassed(double)} like {@link BallBenchmarks}, with the
+ *  blocks inside the box kept in a {@link project.game.objects.collidables.block.BlockStore}.
+ */
+@State(Scope.Thread)
+public class StoredBallBenchmarks {
+
+    @Param({"10", "100", "1000"})
+    private int blocks;
+
+    private Ball ball;
+
+    /**
+     * Create the scene and the ball.
+     */
+    @Setup
+    public void setUp() {
+        CollisionScene scene = new CollisionScene(this.blocks, CollisionBenchmarks.STEP_LENGTH,
+                CollisionBenchmarks.SEED);
+        scene.environment().addBlocks(StoredCollisionBenchmarks.store(scene));
+
+        this.ball = new Ball(scene.emptyMiddle(), 5, Color.WHITE);
+        this.ball.setVelocity(170, -560);
+        scene.environment().addCollidable(this.ball);
+    }
+
+    /**
+     * Measure one frame of the ball.
+     * @return the x position of the ball
+     */
+    @Benchmark
+    public int ballStep() {
+        this.ball.timePassed(CollisionBenchmarks.DT);
+        return this.ball.getX();
+    }
+}
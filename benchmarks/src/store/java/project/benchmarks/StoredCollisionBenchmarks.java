@@ -0,0 +1,63 @@
+package project.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import project.game.objects.collidables.CollisionInfo;
+import project.game.objects.collidables.block.BlockStore;
+import project.geometry.Line;
+
+/**
+ * {@link StoredCollisionBenchmarks} measures {@link project.game.GameEnvironment#getClosestCollision(Line)}
+ *  like {@link CollisionBenchmarks}, with the blocks inside the box kept in a {@link BlockStore}.
+ */
+@State(Scope.Thread)
+public class StoredCollisionBenchmarks {
+
+    @Param({"10", "100", "1000"})
+    private int blocks;
+
+    private CollisionScene scene;
+    private int next;
+
+    /**
+     * Create the scene.
+     */
+    @Setup
+    public void setUp() {
+        this.scene = new CollisionScene(this.blocks, CollisionBenchmarks.STEP_LENGTH, CollisionBenchmarks.SEED);
+        this.scene.environment().addBlocks(store(this.scene));
+    }
+
+    /**
+     * Create a store holding the blocks inside the box of a scene.
+     * @param scene : the scene
+     * @return the store
+     */
+    static BlockStore store(CollisionScene scene) {
+        BlockStore store = new BlockStore(scene.blockCount());
+        int prototype = store.prototype(null, null);
+
+        for (int i = 0; i < scene.blockCount(); i++) {
+            store.add(scene.blockX(i), scene.blockY(i), scene.blockWidth(), scene.blockHeight(), 1, prototype);
+        }
+
+        return store;
+    }
+
+    /**
+     * Measure the closest collision of the next trajectory of the scene.
+     * @return the collision, or null if there's none
+     */
+    @Benchmark
+    public CollisionInfo closestCollision() {
+        Line[] trajectories = this.scene.trajectories();
+        int i = this.next;
+        this.next = (i + 1) % trajectories.length;
+
+        return this.scene.environment().getClosestCollision(trajectories[i]);
+    }
+}
@@ -0,0 +1,447 @@
+package project.game;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import project.game.objects.collidables.Collidable;
+import project.geometry.Line;
+import project.geometry.Rectangle;
+
+/**
+ * {@link CollidablesGrid} is a uniform grid of buckets over a rectangular area.
+ * Each {@link Collidable} is registered in every cell its collision rectangle covers, so a
+ *  trajectory only has to be tested against the collidables of the cells it passes through.
+ */
+public class CollidablesGrid {
+
+    public static final int DEFAULT_CELL_SIZE = 40;
+
+    /**
+     * {@link Entry} is the registration of one collidable inside the grid.
+     */
+    private static class Entry {
+
+        private final Collidable collidable;
+
+        // the range of cells this entry is registered in(inclusive)
+        private final int firstColumn, lastColumn;
+        private final int firstRow, lastRow;
+
+        // the last query this entry was collected in
+        private int lastQuery;
+
+        /**
+         * Construct a new entry.
+         * @param collidable : the registered collidable
+         * @param firstColumn : the leftmost column
+         * @param lastColumn : the rightmost column
+         * @param firstRow : the top row
+         * @param lastRow : the bottom row
+         */
+        Entry(Collidable collidable, int firstColumn, int lastColumn, int firstRow, int lastRow) {
+            this.collidable = collidable;
+            this.firstColumn = firstColumn;
+            this.lastColumn = lastColumn;
+            this.firstRow = firstRow;
+            this.lastRow = lastRow;
+        }
+    }
+
+    private final int width;
+    private final int height;
+    private final int cellSize;
+
+    private final int columns;
+    private final int rows;
+
+    private final List<List<Entry>> cells;
+    private final Map<Collidable, Entry> entries;
+
+    // collidables which are not completely inside the grid area
+    private final List<Entry> outside;
+
+    private int currentQuery;
+
+    // reused [tStart, tEnd] range of clipped segments
+    private final double[] clipRange = new double[2];
+
+    // reused bounding box(left, right, top, bottom) of the segment walked in a margin query
+    private final double[] bounds = new double[4];
+
+    /**
+     * Construct a new grid over the area [0, width] x [0, height].
+     * @param width : the width of the area
+     * @param height : the height of the area
+     * @param cellSize : the side length of every cell
+     */
+    public CollidablesGrid(int width, int height, int cellSize) {
+        if (width <= 0 || height <= 0 || cellSize <= 0) {
+            throw new IllegalArgumentException("the grid dimensions must be larger than 0!");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.cellSize = cellSize;
+
+        // the right and bottom borders belong to the last column and row
+        this.columns = width / cellSize + 1;
+        this.rows = height / cellSize + 1;
+
+        this.cells = new ArrayList<>(this.columns * this.rows);
+        for (int i = 0; i < this.columns * this.rows; i++) {
+            this.cells.add(new ArrayList<>());
+        }
+
+        this.entries = new IdentityHashMap<>();
+        this.outside = new ArrayList<>();
+    }
+
+    /**
+     * Construct a new grid with the default cell size.
+     * @param width : the width of the area
+     * @param height : the height of the area
+     */
+    public CollidablesGrid(int width, int height) {
+        this(width, height, DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Get the column of a given x value, clamped to the grid.
+     * @param x : the x value
+     * @return the column index
+     */
+    private int column(double x) {
+        return clamp((int) Math.floor(x / this.cellSize), this.columns);
+    }
+
+    /**
+     * Get the row of a given y value, clamped to the grid.
+     * @param y : the y value
+     * @return the row index
+     */
+    private int row(double y) {
+        return clamp((int) Math.floor(y / this.cellSize), this.rows);
+    }
+
+    /**
+     * Clamp an index to the range [0, size - 1].
+     * @param index : the index
+     * @param size : the amount of indices
+     * @return the clamped index
+     */
+    private static int clamp(int index, int size) {
+        return Math.max(0, Math.min(size - 1, index));
+    }
+
+    /**
+     * Get the bucket of a given cell.
+     * @param column : the column of the cell
+     * @param row : the row of the cell
+     * @return the bucket
+     */
+    private List<Entry> cell(int column, int row) {
+        return this.cells.get(row * this.columns + column);
+    }
+
+    /**
+     * Add a collidable to this grid, according to its current collision rectangle.
+     * @param collidable : the collidable to add
+     */
+    public void add(Collidable collidable) {
+        // make sure the collidable isn't registered twice
+        remove(collidable);
+
+        Rectangle rect = collidable.getCollisionRectangle();
+
+        double left = rect.getLeft();
+        double top = rect.getTop();
+        double right = left + rect.getWidth();
+        double bottom = top + rect.getHeight();
+
+        // if the rectangle is not completely inside the grid area, it can't be located by the cells
+        if (left < 0 || top < 0 || right > this.width || bottom > this.height) {
+            Entry entry = new Entry(collidable, 0, -1, 0, -1);
+            this.entries.put(collidable, entry);
+            this.outside.add(entry);
+            return;
+        }
+
+        Entry entry = new Entry(collidable, column(left), column(right), row(top), row(bottom));
+        this.entries.put(collidable, entry);
+
+        /* register the entry in every cell it covers */
+        for (int r = entry.firstRow; r <= entry.lastRow; r++) {
+            for (int c = entry.firstColumn; c <= entry.lastColumn; c++) {
+                cell(c, r).add(entry);
+            }
+        }
+    }
+
+    /**
+     * Remove a collidable from this grid.
+     * @param collidable : the collidable to remove
+     */
+    public void remove(Collidable collidable) {
+        Entry entry = this.entries.remove(collidable);
+
+        // if wasn't registered
+        if (entry == null) {
+            return;
+        }
+
+        this.outside.remove(entry);
+
+        for (int r = entry.firstRow; r <= entry.lastRow; r++) {
+            for (int c = entry.firstColumn; c <= entry.lastColumn; c++) {
+                cell(c, r).remove(entry);
+            }
+        }
+    }
+
+    /**
+     * Start a new query. Collidables are collected at most once per query, even if
+     *  they are found in several cells or along several segments.
+     */
+    public void newQuery() {
+        this.currentQuery++;
+    }
+
+    /**
+     * Collect all the entries of a bucket which weren't collected yet in the current query.
+     * @param bucket : the bucket
+     * @param into : the list to collect into
+     */
+    private void collect(List<Entry> bucket, List<Collidable> into) {
+        // indexed iteration, this runs for every visited cell of every query
+        for (int i = 0; i < bucket.size(); i++) {
+            Entry entry = bucket.get(i);
+            if (entry.lastQuery != this.currentQuery) {
+                entry.lastQuery = this.currentQuery;
+                into.add(entry.collidable);
+            }
+        }
+    }
+
+    /**
+     * Collect all the collidables which might be intersected by a given segment.
+     * The cells are walked one by one along the segment(DDA traversal).
+     * @param segment : the segment
+     * @param into : a list to add the candidates into
+     */
+    public void collectAlong(Line segment, List<Collidable> into) {
+        collectAlong(segment, 0, into);
+    }
+
+    /**
+     * Collect all the collidables which might be intersected by a given segment, or which are closer to it
+     *  than a given margin on each axis(which is what a rectangle or a circle moving along it might touch).
+     * The cells are walked one by one along the segment(DDA traversal), and with a margin, the cells next
+     *  to each walked cell which are within the margin of the segment are collected as well.
+     * @param segment : the segment
+     * @param margin : the margin around the segment
+     * @param into : a list to add the candidates into
+     */
+    public void collectAlong(Line segment, double margin, List<Collidable> into) {
+        collectAlong(segment.start().getX(), segment.start().getY(), segment.end().getX(), segment.end().getY(),
+                margin, into);
+    }
+
+    /**
+     * Collect all the collidables which might be intersected by a given segment, or which are closer to it
+     *  than a given margin on each axis.
+     * @param x0 : the x of the start of the segment
+     * @param y0 : the y of the start of the segment
+     * @param x1 : the x of the end of the segment
+     * @param y1 : the y of the end of the segment
+     * @param margin : the margin around the segment
+     * @param into : a list to add the candidates into
+     * @see #collectAlong(Line, double, List)
+     */
+    public void collectAlong(double x0, double y0, double x1, double y1, double margin, List<Collidable> into) {
+        // the collidables exceeding the grid can't be located, so they are always candidates
+        collect(this.outside, into);
+
+        double dx = x1 - x0;
+        double dy = y1 - y0;
+
+        /* clip the segment to the grid area and the margin around it(parametric, t in [0, 1]) */
+        double[] range = this.clipRange;
+        range[0] = 0;
+        range[1] = 1;
+        if (!clip(-dx, x0 + margin, range) || !clip(dx, this.width + margin - x0, range)
+                || !clip(-dy, y0 + margin, range) || !clip(dy, this.height + margin - y0, range)) {
+            return;
+        }
+
+        double tStart = range[0];
+        double tEnd = range[1];
+
+        // the bounding box of the clipped segment, with the margin around it
+        double[] bounds = this.bounds;
+        bounds[0] = x0 + Math.min(tStart * dx, tEnd * dx) - margin;
+        bounds[1] = x0 + Math.max(tStart * dx, tEnd * dx) + margin;
+        bounds[2] = y0 + Math.min(tStart * dy, tEnd * dy) - margin;
+        bounds[3] = y0 + Math.max(tStart * dy, tEnd * dy) + margin;
+
+        // the first cell on the clipped segment
+        int c = column(x0 + tStart * dx);
+        int r = row(y0 + tStart * dy);
+
+        int stepColumn = (int) Math.signum(dx);
+        int stepRow = (int) Math.signum(dy);
+
+        // the t of the next vertical and horizontal cell borders
+        double tNextColumn = nextBorder(x0, dx, c, stepColumn);
+        double tNextRow = nextBorder(y0, dy, r, stepRow);
+
+        // the t it takes to cross a whole cell on each axis
+        double tColumnDelta = dx == 0 ? Double.POSITIVE_INFINITY : this.cellSize / Math.abs(dx);
+        double tRowDelta = dy == 0 ? Double.POSITIVE_INFINITY : this.cellSize / Math.abs(dy);
+
+        collectAround(c, r, margin, into);
+
+        /* walk cell by cell until passing the end of the clipped segment */
+        while (Math.min(tNextColumn, tNextRow) <= tEnd) {
+            if (tNextColumn < tNextRow) {
+                c += stepColumn;
+                tNextColumn += tColumnDelta;
+            } else if (tNextRow < tNextColumn) {
+                r += stepRow;
+                tNextRow += tRowDelta;
+            } else {
+                // passing exactly through a corner, so both side neighbors are touched as well
+                if (isInside(c + stepColumn, r)) {
+                    collectAround(c + stepColumn, r, margin, into);
+                }
+                if (isInside(c, r + stepRow)) {
+                    collectAround(c, r + stepRow, margin, into);
+                }
+
+                c += stepColumn;
+                r += stepRow;
+                tNextColumn += tColumnDelta;
+                tNextRow += tRowDelta;
+            }
+
+            /* the segment might leave the grid(within the margin, or on the outer border), then keep walking
+             * along the last column or row */
+            if (c < 0 || c >= this.columns) {
+                c -= stepColumn;
+                tNextColumn = Double.POSITIVE_INFINITY;
+            }
+            if (r < 0 || r >= this.rows) {
+                r -= stepRow;
+                tNextRow = Double.POSITIVE_INFINITY;
+            }
+
+            collectAround(c, r, margin, into);
+        }
+
+        // rounding errors might stop the walk right before the last cell
+        collectAround(column(x0 + tEnd * dx), row(y0 + tEnd * dy), margin, into);
+    }
+
+    /**
+     * Query whether a cell is inside the grid.
+     * @param column : the column of the cell
+     * @param row : the row of the cell
+     * @return true if it is. false otherwise.
+     */
+    private boolean isInside(int column, int row) {
+        return column >= 0 && column < this.columns && row >= 0 && row < this.rows;
+    }
+
+    /**
+     * Collect the entries of a walked cell, and of the cells within the margin of the part of the
+     *  walked segment inside it.
+     * The part of the segment inside the cell is bounded by the cell and by the bounding box of the
+     *  segment, so only the cells overlapping that bound(expanded by the margin) are collected.
+     * @param column : the column of the walked cell
+     * @param row : the row of the walked cell
+     * @param margin : the margin around the segment
+     * @param into : the list to collect into
+     */
+    private void collectAround(int column, int row, double margin, List<Collidable> into) {
+        if (margin == 0) {
+            collect(cell(column, row), into);
+            return;
+        }
+
+        double[] bounds = this.bounds;
+
+        // the cell expanded by the margin, cut by the expanded bounding box of the segment
+        double left = Math.max((double) column * this.cellSize - margin, bounds[0]);
+        double right = Math.min((double) (column + 1) * this.cellSize + margin, bounds[1]);
+        double top = Math.max((double) row * this.cellSize - margin, bounds[2]);
+        double bottom = Math.min((double) (row + 1) * this.cellSize + margin, bounds[3]);
+
+        int lastColumn = column(right);
+        int lastRow = row(bottom);
+
+        for (int r = row(top); r <= lastRow; r++) {
+            for (int c = column(left); c <= lastColumn; c++) {
+                collect(cell(c, r), into);
+            }
+        }
+    }
+
+    /**
+     * Get the parameter t of the first cell border crossed on one axis.
+     * @param origin : the start of the segment on that axis
+     * @param delta : the length of the segment on that axis
+     * @param index : the current cell index on that axis
+     * @param step : the direction of movement on that axis
+     * @return the t value, or infinity if never crossing a border
+     */
+    private double nextBorder(double origin, double delta, int index, int step) {
+        if (step == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        double border = (step > 0 ? index + 1 : index) * (double) this.cellSize;
+        return (border - origin) / delta;
+    }
+
+    /**
+     * One step of the Liang-Barsky clipping algorithm.
+     * @param p : the negated direction relative to the border
+     * @param q : the distance to the border
+     * @param range : the current [tStart, tEnd] range, updated in place
+     * @return false if the segment is completely outside of the border. true otherwise.
+     */
+    private static boolean clip(double p, double q, double[] range) {
+        if (p == 0) {
+            // parallel to the border, so either completely inside or completely outside
+            return q >= 0;
+        }
+
+        double t = q / p;
+
+        if (p < 0) {
+            if (t > range[1]) {
+                return false;
+            }
+            range[0] = Math.max(range[0], t);
+        } else {
+            if (t < range[0]) {
+                return false;
+            }
+            range[1] = Math.min(range[1], t);
+        }
+
+        return true;
+    }
+
+    /**
+     * Collect all the collidables registered in the cell containing a given position.
+     * @param x : the x of the position
+     * @param y : the y of the position
+     * @param into : a list to add the candidates into
+     */
+    public void collectAt(double x, double y, List<Collidable> into) {
+        collect(this.outside, into);
+        collect(cell(column(x), row(y)), into);
+    }
+}
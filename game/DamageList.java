@@ -0,0 +1,238 @@
+package project.game;
+
+import project.geometry.Rectangle;
+
+/**
+ * {@link DamageList} is a list of the areas of the screen which changed since the last frame, so that
+ *  a surface can draw again only them.
+ * Overlapping or touching areas are merged into one, and the amount of areas is kept small by merging
+ *  a new area into the area it grows the least when the list is full.
+ */
+public class DamageList {
+
+    // the most areas kept, drawing a few larger areas is cheaper than drawing many small ones
+    public static final int MAX_AREAS = 16;
+
+    // the stroke of a shape is drawn one pixel past its width and height
+    private static final int STROKE_MARGIN = 1;
+
+    // the areas(inclusive-exclusive), area i is at index i
+    private final int[] lefts = new int[MAX_AREAS];
+    private final int[] tops = new int[MAX_AREAS];
+    private final int[] rights = new int[MAX_AREAS];
+    private final int[] bottoms = new int[MAX_AREAS];
+    private int size;
+
+    // whether the whole screen changed
+    private boolean full;
+
+    /**
+     * Add the area a shape is drawn in.
+     * @param bounds : the bounds of the shape, or null if it might be drawn anywhere
+     */
+    public void add(Rectangle bounds) {
+        if (bounds == null) {
+            addAll();
+            return;
+        }
+
+        add(bounds.getLeft(), bounds.getTop(), bounds.getWidth(), bounds.getHeight());
+    }
+
+    /**
+     * Add the area a rectangle shape is drawn in.
+     * @param x : the left x of the shape
+     * @param y : the top y of the shape
+     * @param width : the width of the shape
+     * @param height : the height of the shape
+     */
+    public void add(double x, double y, int width, int height) {
+        // the bounds might not be on whole pixels
+        int left = (int) Math.floor(x);
+        int top = (int) Math.floor(y);
+
+        add(left, top, left + width + 1 + STROKE_MARGIN, top + height + 1 + STROKE_MARGIN);
+    }
+
+    /**
+     * Add an area.
+     * @param left : the left x
+     * @param top : the top y
+     * @param right : the right x(exclusive)
+     * @param bottom : the bottom y(exclusive)
+     */
+    public void add(int left, int top, int right, int bottom) {
+        if (this.full || left >= right || top >= bottom) {
+            return;
+        }
+
+        // merge with every area it overlaps or touches, the merged area might touch more areas
+        for (int i = 0; i < this.size; i++) {
+            if (left <= this.rights[i] && this.lefts[i] <= right && top <= this.bottoms[i] && this.tops[i] <= bottom) {
+                left = Math.min(left, this.lefts[i]);
+                top = Math.min(top, this.tops[i]);
+                right = Math.max(right, this.rights[i]);
+                bottom = Math.max(bottom, this.bottoms[i]);
+
+                removeAt(i);
+                i = -1;
+            }
+        }
+
+        if (this.size < MAX_AREAS) {
+            set(this.size++, left, top, right, bottom);
+            return;
+        }
+
+        // the list is full, merge into the area which grows the least
+        int best = 0;
+        long bestGrowth = Long.MAX_VALUE;
+
+        for (int i = 0; i < this.size; i++) {
+            long growth = area(Math.min(left, this.lefts[i]), Math.min(top, this.tops[i]),
+                    Math.max(right, this.rights[i]), Math.max(bottom, this.bottoms[i]))
+                    - area(this.lefts[i], this.tops[i], this.rights[i], this.bottoms[i]);
+
+            if (growth < bestGrowth) {
+                bestGrowth = growth;
+                best = i;
+            }
+        }
+
+        int mergedLeft = Math.min(left, this.lefts[best]);
+        int mergedTop = Math.min(top, this.tops[best]);
+        int mergedRight = Math.max(right, this.rights[best]);
+        int mergedBottom = Math.max(bottom, this.bottoms[best]);
+
+        // the grown area might touch others now
+        removeAt(best);
+        add(mergedLeft, mergedTop, mergedRight, mergedBottom);
+    }
+
+    /**
+     * Mark the whole screen as changed.
+     */
+    public void addAll() {
+        this.full = true;
+        this.size = 0;
+    }
+
+    /**
+     * Add all the areas of another list.
+     * @param other : the other list
+     */
+    public void addAll(DamageList other) {
+        if (other.full) {
+            addAll();
+            return;
+        }
+
+        for (int i = 0; i < other.size; i++) {
+            add(other.lefts[i], other.tops[i], other.rights[i], other.bottoms[i]);
+        }
+    }
+
+    /**
+     * Remove all the areas.
+     */
+    public void clear() {
+        this.full = false;
+        this.size = 0;
+    }
+
+    /**
+     * Query whether the whole screen changed, in which case there are no separate areas.
+     * @return true if it did. false otherwise.
+     */
+    public boolean isFull() {
+        return this.full;
+    }
+
+    /**
+     * Query whether nothing changed.
+     * @return true if nothing did. false otherwise.
+     */
+    public boolean isEmpty() {
+        return !this.full && this.size == 0;
+    }
+
+    /**
+     * Get the amount of areas.
+     * @return the amount
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Get the left x of an area.
+     * @param i : the index of the area
+     * @return the left x
+     */
+    public int getLeft(int i) {
+        return this.lefts[i];
+    }
+
+    /**
+     * Get the top y of an area.
+     * @param i : the index of the area
+     * @return the top y
+     */
+    public int getTop(int i) {
+        return this.tops[i];
+    }
+
+    /**
+     * Get the width of an area.
+     * @param i : the index of the area
+     * @return the width
+     */
+    public int getWidth(int i) {
+        return this.rights[i] - this.lefts[i];
+    }
+
+    /**
+     * Get the height of an area.
+     * @param i : the index of the area
+     * @return the height
+     */
+    public int getHeight(int i) {
+        return this.bottoms[i] - this.tops[i];
+    }
+
+    /**
+     * Set the area at an index.
+     * @param i : the index
+     * @param left : the left x
+     * @param top : the top y
+     * @param right : the right x
+     * @param bottom : the bottom y
+     */
+    private void set(int i, int left, int top, int right, int bottom) {
+        this.lefts[i] = left;
+        this.tops[i] = top;
+        this.rights[i] = right;
+        this.bottoms[i] = bottom;
+    }
+
+    /**
+     * Remove the area at an index, moving the last area into its place.
+     * @param i : the index
+     */
+    private void removeAt(int i) {
+        int last = --this.size;
+        set(i, this.lefts[last], this.tops[last], this.rights[last], this.bottoms[last]);
+    }
+
+    /**
+     * Get the area of a rectangle.
+     * @param left : the left x
+     * @param top : the top y
+     * @param right : the right x
+     * @param bottom : the bottom y
+     * @return the area
+     */
+    private static long area(int left, int top, int right, int bottom) {
+        return (long) (right - left) * (bottom - top);
+    }
+}
@@ -84,4 +84,12 @@ public interface DrawScreen {
      * @return true if it is. false otherwise.
      */
     boolean inside(Point point);
+
+    /**
+     * Query whether a given position is inside this screen.
+     * @param x : the x of the position
+     * @param y : the y of the position
+     * @return true if it is. false otherwise.
+     */
+    boolean inside(double x, double y);
 }
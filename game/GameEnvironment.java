@@ -1,29 +1,91 @@
 package project.game;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 import java.util.function.Predicate;
 
 import project.game.objects.collidables.Collidable;
 import project.game.objects.collidables.CollisionInfo;
+import project.game.objects.collidables.CollisionLayers;
+import project.game.objects.collidables.block.BlockStore;
 import project.geometry.Line;
-import project.geometry.LineIntersection;
 import project.geometry.Point;
+import project.geometry.RayHit;
+import project.geometry.Rectangle;
+import project.misc.SlotList;
 
 /**
  * A class representing a 2D plane which is a game environment.
+ * The collidables are kept apart by their {@link CollisionLayers}, and the queries which take a mask of
+ *  layers only go over the collidables on those layers.
  */
 public class GameEnvironment {
 
     public static final double MINIMUM_MOVEMENT = 1D;
 
-    private List<Collidable> collidables;
+    // the amount of free points tried against the moving collidables before giving up on them
+    private static final int FREE_POINT_ATTEMPTS = 16;
+
+    private final SlotList<Collidable> collidables;
+
+    // the size of the area the collidables are positioned in
+    private final int width;
+    private final int height;
+
+    // spatial index of the collidables which can't move, per layer(null until one is added to the layer)
+    private final CollidablesGrid[] grids;
+
+    // the free space left by the collidables which can't move
+    private final OccupancyMap occupancy;
+
+    // the collidables which might move, per layer, these are always checked
+    private final SlotList<Collidable>[] movables;
+
+    // the stores of blocks, which are swept block by block
+    private final List<BlockStore> blockStores;
+
+    // reused list of candidates for collision
+    private final List<Collidable> candidates;
+
+    // reused trajectories of a query, every one is start x, start y, end x and end y
+    private double[] segments = new double[4];
+
+    // reused results of casting trajectories against collision rectangles
+    private final RayHit hit = new RayHit();
+    private final RayHit closestHit = new RayHit();
 
     /**
-     * Construct a new {@link GameEnvironment} instance.
+     * Construct a new {@link GameEnvironment} instance for a given area.
+     * @param width : the width of the area the collidables are positioned in
+     * @param height : the height of the area the collidables are positioned in
      */
-    public GameEnvironment() {
+    public GameEnvironment(int width, int height) {
         // construct the collidables list
-        collidables = new ArrayList<>();
+        collidables = new SlotList<>();
+
+        this.width = width;
+        this.height = height;
+        this.grids = new CollidablesGrid[CollisionLayers.COUNT];
+        this.occupancy = new OccupancyMap(width, height);
+
+        // generic arrays can't be created, the lists are all of collidables
+        @SuppressWarnings("unchecked")
+        SlotList<Collidable>[] layers = (SlotList<Collidable>[]) new SlotList<?>[CollisionLayers.COUNT];
+        this.movables = layers;
+        for (int i = 0; i < this.movables.length; i++) {
+            this.movables[i] = new SlotList<>();
+        }
+
+        this.blockStores = new ArrayList<>();
+        this.candidates = new ArrayList<>();
+    }
+
+    /**
+     * Construct a new {@link GameEnvironment} instance in the size of a {@link GameLevel}.
+     */
+    public GameEnvironment() {
+        this(GameLevel.WIDTH, GameLevel.HEIGHT);
     }
 
     /**
@@ -39,26 +101,99 @@ public class GameEnvironment {
      * @param object : the object to be added
      */
     public void addCollidable(Collidable object) {
+        int layer = CollisionLayers.indexOf(object.collisionLayer());
+
         collidables.add(object);
 
+        // index the object according to its layer and whether it can move
+        if (object.isMovable()) {
+            this.movables[layer].add(object);
+        } else {
+            grid(layer).add(object);
+            this.occupancy.occupy(object.getCollisionRectangle());
+        }
+
         // set the environment
         object.setGameEnvironment(this);
     }
 
+    /**
+     * Get the grid of a layer, making it if there's none.
+     * @param layer : the index of the layer
+     * @return the grid
+     */
+    private CollidablesGrid grid(int layer) {
+        if (this.grids[layer] == null) {
+            this.grids[layer] = new CollidablesGrid(this.width, this.height);
+        }
+
+        return this.grids[layer];
+    }
+
+    /**
+     * Add the blocks of a store to this game environment. The blocks are on the
+     *  {@link CollisionLayers#BLOCK} layer, and are collided with through
+     *  {@link project.game.objects.collidables.block.BlockView}s.
+     * @param store : the store
+     */
+    public void addBlocks(BlockStore store) {
+        this.blockStores.add(store);
+
+        for (int i = 0; i < store.size(); i++) {
+            if (!store.isRemoved(i)) {
+                this.occupancy.occupy(store.getX(i), store.getY(i), store.getWidth(i), store.getHeight(i));
+            }
+        }
+    }
+
+    /**
+     * Remove a block of a store from this environment, removing it from the store.
+     * @param store : the store of the block
+     * @param index : the index of the block
+     */
+    public void removeBlock(BlockStore store, int index) {
+        if (store.isRemoved(index)) {
+            return;
+        }
+
+        store.remove(index);
+        this.occupancy.release(store.getX(index), store.getY(index), store.getWidth(index), store.getHeight(index));
+    }
+
+    /**
+     * Add all the collidables of a layer which might move to a list.
+     * @param layer : the index of the layer
+     * @param into : the list
+     */
+    private void collectMovables(int layer, List<Collidable> into) {
+        SlotList<Collidable> list = this.movables[layer];
+
+        for (int i = 0; i < list.end(); i++) {
+            Collidable movable = list.get(i);
+
+            if (movable != null) {
+                into.add(movable);
+            }
+        }
+    }
+
     /**
      * Get the closest collision for a given trajectory line(if there is a collision).
      * @param trajectory : the trajectory line.
      * @return a {@link CollisionInfo} instance describing the expected collision
      */
     public CollisionInfo getClosestCollision(Line trajectory) {
-        return getClosestCollision(trajectory, new Predicate<Collidable>() {
-
-            @Override
-            public boolean test(Collidable t) {
-                return true;
-            }
+        return getClosestCollision(trajectory, CollisionLayers.ALL);
+    }
 
-        });
+    /**
+     * Get the closest collision for a given trajectory line with the collidables on given layers.
+     * @param trajectory : the trajectory
+     * @param mask : the layers to collide with
+     * @return a {@link CollisionInfo} if a collision occurred. otherwise null.
+     */
+    public CollisionInfo getClosestCollision(Line trajectory, int mask) {
+        return getClosestCollision(trajectory, mask, 0, 0);
     }
 
     /**
@@ -69,7 +204,7 @@ public class GameEnvironment {
      * @return a {@link CollisionInfo} if a collision occurred. otherwise null.
      */
     public CollisionInfo getClosestCollision(Line trajectory, Predicate<Collidable> include) {
-        return getClosestCollision(trajectory, include, 1, 0);
+        return getClosestCollision(trajectory, include, 0, 0);
     }
 
     /**
@@ -85,8 +220,28 @@ public class GameEnvironment {
      */
     public CollisionInfo getClosestCollision(Line trajectory, Predicate<Collidable> include,
             int sensorsPairs, double sensorsDistance) {
-        // get additional lines to check intersection using
-        Line[] lineSensors = trajectory.equallySpacedParallelLines(sensorsDistance, sensorsPairs);
+        Line[] lineSensors = sensors(trajectory, sensorsPairs, sensorsDistance);
+
+        // if there are no such lines(since the trajectory is 0, just quit)
+        if (lineSensors == null) {
+            return null;
+        }
+
+        // get the closest intersection to the start of the trajectory
+        return getClosestCollision(trajectory.start(), lineSensors, CollisionLayers.ALL, include, 0);
+    }
+
+    /**
+     * Get the closest collision for a given trajectory line with the collidables on given layers,
+     *  sensed by multiple 'sensors' at different positions.
+     * @param trajectory : the trajectory
+     * @param mask : the layers to collide with
+     * @param sensorsPairs : the amount of sensors pairs to have
+     * @param sensorsDistance : the distance of the sensors from the normal trajectory
+     * @return a {@link CollisionInfo} if a collision occurred. otherwise null.
+     */
+    public CollisionInfo getClosestCollision(Line trajectory, int mask, int sensorsPairs, double sensorsDistance) {
+        Line[] lineSensors = sensors(trajectory, sensorsPairs, sensorsDistance);
 
         // if there are no such lines(since the trajectory is 0, just quit)
         if (lineSensors == null) {
@@ -94,63 +249,366 @@ public class GameEnvironment {
         }
 
         // get the closest intersection to the start of the trajectory
-        return getClosestCollision(trajectory.start(), lineSensors, include);
+        return getClosestCollision(trajectory.start(), lineSensors, mask, null, 0);
+    }
+
+    /**
+     * Get the sensor lines of a trajectory.
+     * @param trajectory : the trajectory
+     * @param sensorsPairs : the amount of sensors pairs to have
+     * @param sensorsDistance : the distance of the sensors from the normal trajectory
+     * @return the sensors, or null if the trajectory is 0
+     */
+    private static Line[] sensors(Line trajectory, int sensorsPairs, double sensorsDistance) {
+        if (sensorsPairs == 0) {
+            // the trajectory is the only sensor
+            return trajectory.start().equals(trajectory.end()) ? null : new Line[] {trajectory};
+        }
+
+        // get additional lines to check intersection using
+        return trajectory.equallySpacedParallelLines(sensorsDistance, sensorsPairs);
+    }
+
+    /**
+     * Get the first collision of a circle moving along a given trajectory(swept circle).
+     * The circle is approximated by its bounding square, so the trajectory of its center is checked against
+     *  the collision rectangles expanded by the radius. The collision point is where the circle touches
+     *  the collision rectangle itself, and the fraction of the collision is where the center stops.
+     * @param trajectory : the trajectory of the center of the circle
+     * @param radius : the radius of the circle
+     * @param include : a predicate telling which collidables should be collided with
+     * @return a {@link CollisionInfo} if a collision occurred. otherwise null.
+     */
+    public CollisionInfo getClosestCollision(Line trajectory, double radius, Predicate<Collidable> include) {
+        // if the trajectory is 0, just quit
+        if (trajectory.start().equals(trajectory.end())) {
+            return null;
+        }
+
+        return getClosestCollision(trajectory.start(), trajectory, CollisionLayers.ALL, include, radius);
+    }
+
+    /**
+     * Get the first collision of a circle moving along a given trajectory(swept circle) with the
+     *  collidables on given layers.
+     * @param trajectory : the trajectory of the center of the circle
+     * @param radius : the radius of the circle
+     * @param mask : the layers to collide with
+     * @return a {@link CollisionInfo} if a collision occurred. otherwise null.
+     * @see #getClosestCollision(Line, double, Predicate)
+     */
+    public CollisionInfo getClosestCollision(Line trajectory, double radius, int mask) {
+        // if the trajectory is 0, just quit
+        if (trajectory.start().equals(trajectory.end())) {
+            return null;
+        }
+
+        return getClosestCollision(trajectory.start(), trajectory, mask, null, radius);
+    }
+
+    /**
+     * Get the first collision of a circle moving along a given trajectory(swept circle) with the
+     *  collidables on given layers, without building a line for the trajectory.
+     * @param startX : the x of the start of the trajectory of the center of the circle
+     * @param startY : the y of the start of the trajectory
+     * @param endX : the x of the end of the trajectory
+     * @param endY : the y of the end of the trajectory
+     * @param radius : the radius of the circle
+     * @param mask : the layers to collide with
+     * @return a {@link CollisionInfo} if a collision occurred. otherwise null.
+     * @see #getClosestCollision(Line, double, int)
+     */
+    public CollisionInfo getClosestCollision(double startX, double startY, double endX, double endY, double radius,
+            int mask) {
+        // if the trajectory is 0, just quit
+        if (startX == endX && startY == endY) {
+            return null;
+        }
+
+        setSegment(0, startX, startY, endX, endY);
+        return getClosestCollision(startX, startY, 1, mask, null, radius);
+    }
+
+    /**
+     * Get the closest intersection to a given point from a given trajectory.
+     * @param to : the point to find the closest collision to
+     * @param trajectory : the trajectory
+     * @param mask : the layers to collide with
+     * @param include : a predicate telling which collidables should be collided with, null to include all
+     * @param radius : the amount to expand every collision rectangle by on each side
+     * @return a {@link CollisionInfo} instance or null if no collision occurred
+     */
+    private CollisionInfo getClosestCollision(Point to, Line trajectory, int mask, Predicate<Collidable> include,
+            double radius) {
+        setSegment(0, trajectory);
+        return getClosestCollision(to.getX(), to.getY(), 1, mask, include, radius);
     }
 
     /**
      * Get the closest intersection to a given point from a given set of trajectories.
      * @param to : the point to find the closest collision to
      * @param trajectories : the trajectories
-     * @param include : a predicate telling which collidables should be collided with
+     * @param mask : the layers to collide with, the collidables on the other layers aren't even looked at
+     * @param include : a predicate telling which collidables should be collided with, null to include all
+     * @param radius : the amount to expand every collision rectangle by on each side
+     * @return a {@link CollisionInfo} instance or null if no collision occurred
+     */
+    private CollisionInfo getClosestCollision(Point to, Line[] trajectories, int mask, Predicate<Collidable> include,
+            double radius) {
+        for (int i = 0; i < trajectories.length; i++) {
+            setSegment(i, trajectories[i]);
+        }
+
+        return getClosestCollision(to.getX(), to.getY(), trajectories.length, mask, include, radius);
+    }
+
+    /**
+     * Set one of the reused trajectories of a query to a line.
+     * @param i : the index of the trajectory
+     * @param trajectory : the line
+     */
+    private void setSegment(int i, Line trajectory) {
+        setSegment(i, trajectory.start().getX(), trajectory.start().getY(), trajectory.end().getX(),
+                trajectory.end().getY());
+    }
+
+    /**
+     * Set one of the reused trajectories of a query.
+     * @param i : the index of the trajectory
+     * @param startX : the x of the start of the trajectory
+     * @param startY : the y of the start of the trajectory
+     * @param endX : the x of the end of the trajectory
+     * @param endY : the y of the end of the trajectory
+     */
+    private void setSegment(int i, double startX, double startY, double endX, double endY) {
+        if (4 * i + 4 > this.segments.length) {
+            this.segments = Arrays.copyOf(this.segments, Math.max(4 * i + 4, 2 * this.segments.length));
+        }
+
+        this.segments[4 * i] = startX;
+        this.segments[4 * i + 1] = startY;
+        this.segments[4 * i + 2] = endX;
+        this.segments[4 * i + 3] = endY;
+    }
+
+    /**
+     * Get the closest intersection to a given point from the reused trajectories of a query.
+     * @param toX : the x of the point to find the closest collision to
+     * @param toY : the y of the point to find the closest collision to
+     * @param count : the amount of trajectories set for the query
+     * @param mask : the layers to collide with, the collidables on the other layers aren't even looked at
+     * @param include : a predicate telling which collidables should be collided with, null to include all
+     * @param radius : the amount to expand every collision rectangle by on each side
      * @return a {@link CollisionInfo} instance or null if no collision occurred
      */
-    private CollisionInfo getClosestCollision(Point to, Line[] trajectories, Predicate<Collidable> include) {
+    private CollisionInfo getClosestCollision(double toX, double toY, int count, int mask,
+            Predicate<Collidable> include, double radius) {
+        double[] segments = this.segments;
         CollisionInfo info = null;
+
+        // distances are compared squared, there's no need for the actual distance
         double minimumDistance = Double.POSITIVE_INFINITY;
 
+        /* collect only the collidables on the layers of the mask near the trajectories */
+        List<Collidable> near = this.candidates;
+        near.clear();
+
+        for (int layer = 0; layer < CollisionLayers.COUNT; layer++) {
+            if (!CollisionLayers.includes(mask, 1 << layer)) {
+                continue;
+            }
+
+            collectMovables(layer, near);
+
+            CollidablesGrid grid = this.grids[layer];
+            if (grid != null) {
+                grid.newQuery();
+                for (int j = 0; j < count; j++) {
+                    grid.collectAlong(segments[4 * j], segments[4 * j + 1], segments[4 * j + 2],
+                            segments[4 * j + 3], radius, near);
+                }
+            }
+        }
+
+        // the stored blocks are on the block layer
+        boolean includeStores = CollisionLayers.includes(mask, CollisionLayers.BLOCK);
+
+        // the closest hit so far, either a collidable or a block of a store
+        Collidable closest = null;
+        Rectangle closestRect = null;
+        BlockStore closestStore = null;
+        int closestIndex = -1;
+        RayHit hit = this.hit;
+        RayHit closestHit = this.closestHit;
+
         /* check for each trajectory line */
-        for (Line trajectory : trajectories) {
-            /* go over all the collidable objects in this environment */
-            for (Collidable object : this.getCollidables()) {
+        for (int j = 0; j < count; j++) {
+            double startX = segments[4 * j];
+            double startY = segments[4 * j + 1];
+            double dx = segments[4 * j + 2] - startX;
+            double dy = segments[4 * j + 3] - startY;
+
+            /* go over all the collidable objects near the trajectories */
+            for (int i = 0; i < near.size(); i++) {
+                Collidable object = near.get(i);
+
                 // if this object shouldn't be collided with
-                if (!include.test(object)) {
+                if (include != null && !include.test(object)) {
+                    continue;
+                }
+
+                Rectangle rect = object.getCollisionRectangle();
+
+                // get the desired collision without building any intersection objects
+                if (!Rectangle.castSegment(startX, startY, dx, dy, rect.getLeft() - radius,
+                        rect.getTop() - radius, rect.getWidth() + 2 * radius, rect.getHeight() + 2 * radius, hit)) {
                     continue;
                 }
 
-                // get the desired collision
-                LineIntersection intersection = trajectory
-                        .closestIntersectionToStartLine(object.getCollisionRectangle());
-
-                // if there is a collision
-                if (intersection != null) {
-                    // get the distance from the 'to' position
-                    double collisionDistance = intersection.intersectionPoint().distance(to);
-
-                    // if this collision is the closest one
-                    if (collisionDistance < minimumDistance) {
-                        // set the collision info
-                        info = new CollisionInfo(intersection.intersectionPoint(),
-                                object, intersection.intersected());
-                    }
+                // get the distance from the 'to' position
+                double collisionDistance = hit.distanceSquared(toX, toY);
+
+                // if this collision is the closest one
+                if (collisionDistance < minimumDistance) {
+                    minimumDistance = collisionDistance;
+
+                    closest = object;
+                    closestRect = rect;
+                    closestStore = null;
+                    closestHit.set(hit);
+                }
+            }
+
+            /* look for a closer hit among the blocks of the stores near the trajectory */
+            for (int s = 0; includeStores && s < this.blockStores.size(); s++) {
+                BlockStore store = this.blockStores.get(s);
+                int i = store.castSegment(startX, startY, dx, dy, radius, toX, toY, minimumDistance, include, hit);
+
+                if (i >= 0) {
+                    minimumDistance = hit.distanceSquared(toX, toY);
+
+                    closest = null;
+                    closestStore = store;
+                    closestIndex = i;
+                    closestHit.set(hit);
                 }
             }
         }
 
+        // a view is made only for the closest block of a store
+        if (closestStore != null) {
+            closest = closestStore.view(closestIndex);
+            closestRect = closest.getCollisionRectangle();
+        }
+
+        // if there is a collision, set the collision info
+        if (closest != null) {
+            Point collisionPoint;
+
+            if (radius == 0) {
+                collisionPoint = closestHit.asPoint();
+            } else {
+                // the point of the rectangle itself closest to the expanded hit position
+                collisionPoint = new Point(
+                        clamp(closestHit.x(), closestRect.getLeft(), closestRect.getRight()),
+                        clamp(closestHit.y(), closestRect.getTop(), closestRect.getBottom()));
+            }
+
+            info = new CollisionInfo(collisionPoint, closest, closestRect.getLine(closestHit.edge()),
+                    closestHit.t());
+        }
+
         return info;
     }
 
+    /**
+     * Clamp a value to a range.
+     * @param value : the value
+     * @param min : the minimum of the range
+     * @param max : the maximum of the range
+     * @return the clamped value
+     */
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
     /**
      * Query whether a point is surrounded by a collidable.
      * @param point : the point to check
      * @return true if it is surrounded. false otherwise.
      */
     public boolean isSurrounded(Point point) {
-        for (Collidable c : collidables) {
+        List<Collidable> near = this.candidates;
+        near.clear();
+
+        for (int layer = 0; layer < CollisionLayers.COUNT; layer++) {
+            collectMovables(layer, near);
+
+            CollidablesGrid grid = this.grids[layer];
+            if (grid != null) {
+                grid.newQuery();
+                grid.collectAt(point.getX(), point.getY(), near);
+            }
+        }
+
+        for (Collidable c : near) {
             if (c.getCollisionRectangle().contains(point)) {
                 return true;
             }
         }
 
+        for (BlockStore store : this.blockStores) {
+            if (store.indexAt(point.getX(), point.getY()) >= 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Get a random point which is not surrounded by any collidable.
+     * The point is taken from the free space left by the collidables which can't move, so only the
+     *  collidables which might move are checked, for a bounded amount of attempts.
+     * @param random : the random generator to use
+     * @return a free point, or null if there is no free space at all
+     */
+    public Point getFreePoint(Random random) {
+        Point p = null;
+
+        for (int i = 0; i < FREE_POINT_ATTEMPTS; i++) {
+            p = this.occupancy.randomFreePoint(random);
+
+            // if there's no free space
+            if (p == null) {
+                return null;
+            }
+
+            if (!surroundedByMovable(p)) {
+                return p;
+            }
+        }
+
+        // the moving collidables will move away from it
+        return p;
+    }
+
+    /**
+     * Query whether a point is surrounded by a collidable which might move.
+     * @param point : the point to check
+     * @return true if it is surrounded. false otherwise.
+     */
+    private boolean surroundedByMovable(Point point) {
+        for (SlotList<Collidable> list : this.movables) {
+            for (int i = 0; i < list.end(); i++) {
+                Collidable movable = list.get(i);
+
+                if (movable != null && movable.getCollisionRectangle().contains(point)) {
+                    return true;
+                }
+            }
+        }
+
         return false;
     }
 
@@ -159,6 +617,28 @@ public class GameEnvironment {
      * @param collidable : the collidable to remove
      */
     public void removeCollidable(Collidable collidable) {
+        int layer = CollisionLayers.indexOf(collidable.collisionLayer());
+
         collidables.remove(collidable);
+
+        if (collidable.isMovable()) {
+            this.movables[layer].remove(collidable);
+        } else {
+            grid(layer).remove(collidable);
+            this.occupancy.release(collidable.getCollisionRectangle());
+        }
+
+        /* nothing iterates over the lists outside of a query, so they can be compacted here once half of
+         * their slots are empty, which keeps removing O(1) on average */
+        if (this.collidables.isSparse()) {
+            this.collidables.compact();
+        }
+
+        if (this.movables[layer].isSparse()) {
+            this.movables[layer].compact();
+        }
+
+        // the collidable is no longer in this environment
+        collidable.setGameEnvironment(null);
     }
 }
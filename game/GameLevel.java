@@ -1,13 +1,12 @@
 package project.game;
 import java.awt.Color;
-import java.util.List;
 import java.util.Random;
 
 import biuoop.DrawSurface;
 import biuoop.KeyboardSensor;
-import project.game.animation.Animation;
 import project.game.animation.AnimationRunner;
 import project.game.animation.CountdownAnimation;
+import project.game.animation.FixedStepAnimation;
 import project.game.animation.KeyPressStoppableAnimation;
 import project.game.animation.PauseScreen;
 import project.game.events.BallRemover;
@@ -20,7 +19,7 @@ import project.game.objects.TopBar;
 import project.game.objects.collidables.Ball;
 import project.game.objects.collidables.Collidable;
 import project.game.objects.collidables.Paddle;
-import project.game.objects.collidables.block.Block;
+import project.game.objects.collidables.block.BlockStore;
 import project.game.objects.collidables.block.BoundingBlock;
 import project.game.objects.indicators.LevelNameIndicator;
 import project.game.objects.indicators.LivesIndicator;
@@ -33,12 +32,13 @@ import project.misc.Counter;
 /**
  * A game instance.
  */
-public class GameLevel implements Animation {
+public class GameLevel implements FixedStepAnimation {
 
     public static final int TOPBAR_HEIGHT = 30;
     public static final int BOUNDING_BLOCK_WIDTH = 25;
 
     private final SpriteCollection sprites;
+    private final StaticLayer staticLayer;
     private final GameEnvironment environment;
 
     private final KeyboardSensor keyboard;
@@ -65,8 +65,10 @@ public class GameLevel implements Animation {
      */
     public GameLevel(LevelInformation information, KeyboardSensor keyboard, AnimationRunner animationRunner,
             Counter livesCounter, Counter scoreCounter) {
-        this.sprites = new SpriteCollection();
-        this.environment = new GameEnvironment();
+        // the background and the blocks are drawn through a cached layer
+        this.staticLayer = new StaticLayer(WIDTH, HEIGHT);
+        this.sprites = new SpriteCollection(this.staticLayer);
+        this.environment = new GameEnvironment(WIDTH, HEIGHT);
 
         // set bounds for this level
         this.drawScreen = new GameLevelScreen();
@@ -145,49 +147,53 @@ public class GameLevel implements Animation {
         blocks[BOTTOM].addHitListener(ballRemover);
     }
 
+    // used for picking free points
+    private final Random random = new Random();
+
     /**
      * Get a point within the game regions that is not surrounded by collidables.
-     * @return a free point
+     * @return a free point(the middle of the level if there is no free space)
      */
     public Point getFreePoint() {
-        Point p;
-
-        // initialize random
-        Random random = new Random();
+        Point p = this.environment.getFreePoint(this.random);
 
-        do {
-            p = new Point(random.nextDouble() * width(), random.nextDouble() * height());
-        } while (this.environment.isSurrounded(p));
+        if (p == null) {
+            return new Point(width() / 2, height() / 2);
+        }
 
         return p;
     }
 
-
     /**
      * Initialize blocks for this game level.
      */
     private void initLevelBlocks() {
-        // init a new block remover
-        HitListener blockRemover = new BlockRemover(this, this.remainingBlocksForRemoval);
+        // init remaining blocks for removal, counted when the level was compiled
+        this.remainingBlocksForRemoval.reset();
+        this.remainingBlocksForRemoval.increase(this.information.statistics().removableBlocks());
 
-        // init a new score tracker
-        HitListener scoreTracker = new ScoreTrackingListener(this.scoreCounter);
+        // get the blocks from information, kept in a single store rather than an object per block
+        BlockStore blocks = this.information.blockStore();
 
-        // init remaining blocks for removal
-        this.remainingBlocksForRemoval.reset();
-        this.remainingBlocksForRemoval.increase(this.information.numberOfBlocksToRemove());
+        // add block remover and score tracker
+        blocks.addHitListener(new BlockRemover(this, this.remainingBlocksForRemoval));
+        blocks.addHitListener(new ScoreTrackingListener(this.scoreCounter));
 
-        // get blocks from information
-        List<Block> blocks = this.information.blocks();
+        // redraw a block when its look changes
+        blocks.addHitListener(this.staticLayer);
 
-        // iterate over the blocks to add them all
-        for (Block block : blocks) {
-            block.addToGame(this);
+        this.environment.addBlocks(blocks);
+        this.sprites.addStaticSprite(blocks);
+    }
 
-            // add block remover and score tracker
-            block.addHitListener(blockRemover);
-            block.addHitListener(scoreTracker);
-        }
+    /**
+     * Remove a block of a store from this game.
+     * @param store : the store of the block
+     * @param index : the index of the block
+     */
+    public void removeBlock(BlockStore store, int index) {
+        this.environment.removeBlock(store, index);
+        this.staticLayer.invalidate(store, index);
     }
 
     private TopBar topBar;
@@ -219,7 +225,7 @@ public class GameLevel implements Animation {
      * Initialize this game level.
      */
     public void initialize() {
-        this.addSprite(this.information.getBackground());
+        this.sprites.addStaticSprite(this.information.getBackground());
 
         // init the level blocks
         initLevelBlocks();
@@ -340,19 +346,41 @@ public class GameLevel implements Animation {
      * Play one turn(one life).
      */
     public void playOneTurn() {
-        Paddle paddle = initTurnObjects();
+        startTurn();
 
         // do countdown for 2 seconds starting from 3
         this.animationRunner.run(new CountdownAnimation(2, 3, this.sprites));
 
-        // flag this as running
-        this.running = true;
-
         // run this animation
         this.animationRunner.run(this);
 
+        endTurn();
+    }
+
+    // the paddle of the current turn
+    private Paddle turnPaddle;
+
+    /**
+     * Start a new turn(one life), without running it.
+     * The turn is advanced by {@link #doOneFrame(DrawSurface, double)} or by {@link #step(double)}
+     *  until {@link #shouldStop()} is true, and then it should be ended with {@link #endTurn()}.
+     */
+    public void startTurn() {
+        this.turnPaddle = initTurnObjects();
+
+        // flag this as running
+        this.running = true;
+    }
+
+    /**
+     * End the current turn.
+     */
+    public void endTurn() {
         // remove the current paddle from the screen after this turn is done
-        paddle.removeFromGame(this);
+        if (this.turnPaddle != null) {
+            this.turnPaddle.removeFromGame(this);
+            this.turnPaddle = null;
+        }
     }
 
     /**
@@ -369,15 +397,30 @@ public class GameLevel implements Animation {
 
     @Override
     public void doOneFrame(DrawSurface surface, double dt) {
-        // check for pause screen request
-        if (this.keyboard.isPressed(PAUSE_BUTTON)) {
+        // draw and advance
+        this.sprites.drawAllOn(surface);
+        step(dt);
+    }
+
+    @Override
+    public void drawFrame(DrawSurface surface, double alpha) {
+        this.sprites.drawAllOn(surface, alpha);
+    }
+
+    /**
+     * Advance the objects of this level by a given time, without drawing anything.
+     * @param dt : the time passed since the last step, in seconds
+     */
+    @Override
+    public void step(double dt) {
+        // check for pause screen request(there is no pause screen when running without an animation runner)
+        if (this.animationRunner != null && this.keyboard.isPressed(PAUSE_BUTTON)) {
             this.animationRunner.run(new KeyPressStoppableAnimation(this.keyboard,
                     KeyboardSensor.SPACE_KEY, new PauseScreen()));
         }
 
-        // draw and notify time pass
+        // notify time pass
         this.sprites.setTimePassed(dt);
-        this.sprites.drawAllOn(surface);
         this.sprites.notifyAllTimePassed();
 
         // if this turn has been finished
@@ -415,4 +458,14 @@ public class GameLevel implements Animation {
         return this.drawScreen.inside(point);
     }
 
+    /**
+     * Query whether a position is within the bounds of this level.
+     * @param x : the x of the position
+     * @param y : the y of the position
+     * @return true if it is. false otherwise.
+     */
+    public boolean insideBounds(double x, double y) {
+        return this.drawScreen.inside(x, y);
+    }
+
 }
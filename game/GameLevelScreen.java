@@ -75,9 +75,14 @@ public class GameLevelScreen implements DrawScreen {
 
     @Override
     public boolean inside(Point point) {
-        // check if the point is inside both axises
-        boolean insideX = widthSegment().contains(point.getX());
-        boolean insideY = heightSegment().contains(point.getY());
+        return inside(point.getX(), point.getY());
+    }
+
+    @Override
+    public boolean inside(double x, double y) {
+        // check if the position is inside both axises
+        boolean insideX = leftmostX() <= x && x <= rightmostX();
+        boolean insideY = topY() <= y && y <= bottomY();
 
         // return whether it is
         return insideX && insideY;
@@ -0,0 +1,194 @@
+package project.game;
+
+import java.util.Random;
+
+import project.geometry.Point;
+import project.geometry.Rectangle;
+
+/**
+ * {@link OccupancyMap} keeps track of the free space in a rectangular area.
+ * The area is divided into square cells, and every cell counts the rectangles overlapping it.
+ * The cells nobody overlaps are kept in a list, so a random free position is found in constant time.
+ */
+public class OccupancyMap {
+
+    public static final int DEFAULT_CELL_SIZE = 10;
+
+    private final int width;
+    private final int height;
+    private final int cellSize;
+
+    private final int columns;
+    private final int rows;
+
+    // the amount of rectangles overlapping each cell
+    private final int[] counts;
+
+    // the free cells(the first freeCount entries), and the position of each cell in that list(-1 if occupied)
+    private final int[] freeCells;
+    private final int[] freePositions;
+    private int freeCount;
+
+    /**
+     * Construct a new map of the free area [0, width) x [0, height).
+     * @param width : the width of the area
+     * @param height : the height of the area
+     * @param cellSize : the side length of every cell
+     */
+    public OccupancyMap(int width, int height, int cellSize) {
+        if (width <= 0 || height <= 0 || cellSize <= 0) {
+            throw new IllegalArgumentException("the map dimensions must be larger than 0!");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.cellSize = cellSize;
+
+        // partial cells at the right and bottom borders are part of the map
+        this.columns = (width + cellSize - 1) / cellSize;
+        this.rows = (height + cellSize - 1) / cellSize;
+
+        int cells = this.columns * this.rows;
+        this.counts = new int[cells];
+        this.freeCells = new int[cells];
+        this.freePositions = new int[cells];
+
+        // all the cells start free
+        for (int i = 0; i < cells; i++) {
+            this.freeCells[i] = i;
+            this.freePositions[i] = i;
+        }
+        this.freeCount = cells;
+    }
+
+    /**
+     * Construct a new map with the default cell size.
+     * @param width : the width of the area
+     * @param height : the height of the area
+     */
+    public OccupancyMap(int width, int height) {
+        this(width, height, DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Mark the cells overlapped by a rectangle as occupied.
+     * @param rect : the rectangle
+     */
+    public void occupy(Rectangle rect) {
+        update(rect.getLeft(), rect.getTop(), rect.getWidth(), rect.getHeight(), 1);
+    }
+
+    /**
+     * Mark the cells overlapped by a rectangle as occupied.
+     * @param left : the left x of the rectangle
+     * @param top : the top y of the rectangle
+     * @param width : the width of the rectangle
+     * @param height : the height of the rectangle
+     */
+    public void occupy(double left, double top, int width, int height) {
+        update(left, top, width, height, 1);
+    }
+
+    /**
+     * Release the cells overlapped by a rectangle which was previously occupied.
+     * @param rect : the rectangle
+     */
+    public void release(Rectangle rect) {
+        update(rect.getLeft(), rect.getTop(), rect.getWidth(), rect.getHeight(), -1);
+    }
+
+    /**
+     * Release the cells overlapped by a rectangle which was previously occupied.
+     * @param left : the left x of the rectangle
+     * @param top : the top y of the rectangle
+     * @param width : the width of the rectangle
+     * @param height : the height of the rectangle
+     */
+    public void release(double left, double top, int width, int height) {
+        update(left, top, width, height, -1);
+    }
+
+    /**
+     * Change the counts of all the cells overlapped by a rectangle.
+     * Cells which the rectangle only touches on their border are counted as well.
+     * @param left : the left x of the rectangle
+     * @param top : the top y of the rectangle
+     * @param width : the width of the rectangle
+     * @param height : the height of the rectangle
+     * @param change : the amount to add to each count
+     */
+    private void update(double left, double top, int width, int height, int change) {
+        int firstColumn = Math.max(0, (int) Math.floor(left / this.cellSize));
+        int lastColumn = Math.min(this.columns - 1, (int) Math.floor((left + width) / this.cellSize));
+        int firstRow = Math.max(0, (int) Math.floor(top / this.cellSize));
+        int lastRow = Math.min(this.rows - 1, (int) Math.floor((top + height) / this.cellSize));
+
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstColumn; c <= lastColumn; c++) {
+                int cell = r * this.columns + c;
+                int before = this.counts[cell];
+                this.counts[cell] = before + change;
+
+                if (before == 0 && change > 0) {
+                    removeFree(cell);
+                } else if (before + change == 0) {
+                    addFree(cell);
+                }
+            }
+        }
+    }
+
+    /**
+     * Add a cell to the free cells list.
+     * @param cell : the cell index
+     */
+    private void addFree(int cell) {
+        this.freeCells[this.freeCount] = cell;
+        this.freePositions[cell] = this.freeCount;
+        this.freeCount++;
+    }
+
+    /**
+     * Remove a cell from the free cells list, by moving the last free cell into its place.
+     * @param cell : the cell index
+     */
+    private void removeFree(int cell) {
+        int position = this.freePositions[cell];
+        int last = this.freeCells[this.freeCount - 1];
+
+        this.freeCells[position] = last;
+        this.freePositions[last] = position;
+
+        this.freePositions[cell] = -1;
+        this.freeCount--;
+    }
+
+    /**
+     * Get the amount of free cells.
+     * @return the amount
+     */
+    public int freeCells() {
+        return this.freeCount;
+    }
+
+    /**
+     * Get a random position inside a random free cell. No rectangle of this map contains that position.
+     * @param random : the random generator to use
+     * @return a point instance, or null if there are no free cells
+     */
+    public Point randomFreePoint(Random random) {
+        if (this.freeCount == 0) {
+            return null;
+        }
+
+        int cell = this.freeCells[random.nextInt(this.freeCount)];
+        int column = cell % this.columns;
+        int row = cell / this.columns;
+
+        // a partial cell at the border is cut by the area
+        double x = Math.min(this.width, (column + random.nextDouble()) * this.cellSize);
+        double y = Math.min(this.height, (row + random.nextDouble()) * this.cellSize);
+
+        return new Point(x, y);
+    }
+}
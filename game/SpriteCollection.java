@@ -1,22 +1,50 @@
 package project.game;
-import java.util.ArrayList;
-import java.util.List;
-
 import biuoop.DrawSurface;
+import project.game.objects.DirtyRegionSprite;
+import project.game.objects.InterpolatedSprite;
 import project.game.objects.Sprite;
+import project.game.objects.StaticSprite;
+import project.misc.SlotList;
 
 /**
  * A collection of sprites.
+ * Sprites might be added and removed while the collection notifies them, a removed sprite is skipped
+ *  right away and an added one is notified from the next frame on.
  */
 public class SpriteCollection {
 
-    private List<Sprite> sprites;
+    private final SlotList<Sprite> sprites;
+
+    // the sprites drawn every frame, and the cached layer of the rest(null if there's no such layer)
+    private final SlotList<Sprite> drawnSprites;
+    private final StaticLayer staticLayer;
+
+    // the sprites which change every frame but don't report where(they damage the whole screen)
+    private final SlotList<Sprite> untrackedSprites;
+
+    // the damage of added and removed sprites since the last collection, and the list collected into
+    private final DamageList pendingDamage;
+    private final DamageList damage;
 
     /**
-     * Construct a new collection of sprites.
+     * Construct a new collection of sprites, which draws all the sprites every frame.
      */
     public SpriteCollection() {
-        this.sprites = new ArrayList<>();
+        this(null);
+    }
+
+    /**
+     * Construct a new collection of sprites which draws its {@link StaticSprite}s through a cached layer.
+     * The static sprites are drawn below all the other sprites.
+     * @param staticLayer : the layer
+     */
+    public SpriteCollection(StaticLayer staticLayer) {
+        this.sprites = new SlotList<>();
+        this.drawnSprites = new SlotList<>();
+        this.staticLayer = staticLayer;
+        this.untrackedSprites = new SlotList<>();
+        this.pendingDamage = new DamageList();
+        this.damage = new DamageList();
     }
 
     /**
@@ -24,7 +52,56 @@ public class SpriteCollection {
      * @param sprite : the sprite to add
      */
     public void addSprite(Sprite sprite) {
-        this.sprites.add(sprite);
+        if (sprite instanceof StaticSprite) {
+            addStaticSprite(sprite);
+            return;
+        }
+
+        if (!this.sprites.add(sprite)) {
+            return;
+        }
+
+        this.drawnSprites.add(sprite);
+
+        if (!(sprite instanceof DirtyRegionSprite)) {
+            this.untrackedSprites.add(sprite);
+        }
+
+        addDamageOf(sprite);
+    }
+
+    /**
+     * Add a sprite which doesn't change between frames(such as a background) to the collection.
+     * @param sprite : the sprite to add
+     */
+    public void addStaticSprite(Sprite sprite) {
+        if (!this.sprites.add(sprite)) {
+            return;
+        }
+
+        if (this.staticLayer != null) {
+            this.staticLayer.add(sprite);
+        } else {
+            this.drawnSprites.add(sprite);
+        }
+
+        addDamageOf(sprite);
+    }
+
+    /**
+     * Add the area a sprite is drawn in to the damage of the next collection.
+     * @param sprite : the sprite
+     */
+    private void addDamageOf(Sprite sprite) {
+        if (sprite instanceof DirtyRegionSprite) {
+            DirtyRegionSprite tracked = (DirtyRegionSprite) sprite;
+
+            // the bounds it was drawn in last, and the bounds it's drawn in now
+            tracked.reportDamage(this.pendingDamage);
+            this.pendingDamage.add(tracked.getDrawBounds());
+        } else {
+            this.pendingDamage.addAll();
+        }
     }
 
     private double timeDiff;
@@ -41,10 +118,21 @@ public class SpriteCollection {
      * Notify all the sprites that time has passed.
      */
     public void notifyAllTimePassed() {
-        List<Sprite> spritesClone = new ArrayList<>(this.sprites);
+        // between frames nothing iterates over the sprites, so the slots of the removed ones are dropped
+        this.sprites.compact();
+        this.drawnSprites.compact();
+        this.untrackedSprites.compact();
+
+        // the sprites added while notifying are after the end
+        int end = this.sprites.end();
 
-        for (Sprite sprite : spritesClone) {
-            sprite.timePassed(this.timeDiff);
+        for (int i = 0; i < end; i++) {
+            Sprite sprite = this.sprites.get(i);
+
+            // removed while notifying
+            if (sprite != null) {
+                sprite.timePassed(this.timeDiff);
+            }
         }
     }
 
@@ -53,8 +141,37 @@ public class SpriteCollection {
      * @param surface : the surface
      */
     public void drawAllOn(DrawSurface surface) {
-        for (Sprite sprite : this.sprites) {
-            sprite.drawOn(surface);
+        if (this.staticLayer != null) {
+            this.staticLayer.drawOn(surface);
+        }
+
+        for (int i = 0; i < this.drawnSprites.end(); i++) {
+            Sprite sprite = this.drawnSprites.get(i);
+
+            if (sprite != null) {
+                sprite.drawOn(surface);
+            }
+        }
+    }
+
+    /**
+     * Draw all the sprites on a given {@link DrawSurface}, interpolating the ones which support it.
+     * @param surface : the surface
+     * @param alpha : the fraction of a time step passed since the last one
+     */
+    public void drawAllOn(DrawSurface surface, double alpha) {
+        if (this.staticLayer != null) {
+            this.staticLayer.drawOn(surface);
+        }
+
+        for (int i = 0; i < this.drawnSprites.end(); i++) {
+            Sprite sprite = this.drawnSprites.get(i);
+
+            if (sprite instanceof InterpolatedSprite) {
+                ((InterpolatedSprite) sprite).drawOn(surface, alpha);
+            } else if (sprite != null) {
+                sprite.drawOn(surface);
+            }
         }
     }
 
@@ -63,6 +180,41 @@ public class SpriteCollection {
      * @param sprite : the sprite to be removed
      */
     public void removeSprite(Sprite sprite) {
-        this.sprites.remove(sprite);
+        if (!this.sprites.remove(sprite)) {
+            return;
+        }
+
+        if (!this.drawnSprites.remove(sprite) && this.staticLayer != null) {
+            this.staticLayer.remove(sprite);
+        }
+
+        this.untrackedSprites.remove(sprite);
+        addDamageOf(sprite);
+    }
+
+    /**
+     * Collect the areas of the screen which changed since the last collection, merged together: the areas
+     *  of the sprites which were added or removed, and the areas the sprites report.
+     * The returned list is reused by the next collection.
+     * @return the damage list
+     */
+    public DamageList collectDamage() {
+        this.damage.clear();
+        this.damage.addAll(this.pendingDamage);
+        this.pendingDamage.clear();
+
+        if (!this.untrackedSprites.isEmpty()) {
+            this.damage.addAll();
+        }
+
+        for (int i = 0; i < this.sprites.end(); i++) {
+            Sprite sprite = this.sprites.get(i);
+
+            if (sprite instanceof DirtyRegionSprite) {
+                ((DirtyRegionSprite) sprite).reportDamage(this.damage);
+            }
+        }
+
+        return this.damage;
     }
 }
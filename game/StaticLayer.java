@@ -0,0 +1,199 @@
+package project.game;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import biuoop.DrawSurface;
+import project.game.events.BlockStoreListener;
+import project.game.events.HitListener;
+import project.game.objects.Sprite;
+import project.game.objects.StaticSprite;
+import project.game.objects.collidables.Ball;
+import project.game.objects.collidables.block.Block;
+import project.game.objects.collidables.block.BlockStore;
+import project.geometry.Rectangle;
+import project.misc.ImageDrawSurface;
+
+/**
+ * {@link StaticLayer} is a render cache for the sprites which don't change between frames(the background
+ *  and the blocks). They are drawn once into an offscreen image, and every frame only that image is drawn.
+ * When a sprite changes(a block is hit) or is removed, only the area it was drawn in is drawn again.
+ */
+public class StaticLayer implements HitListener, BlockStoreListener {
+
+    // the stroke of a rectangle is drawn one pixel past its width and height
+    private static final int STROKE_MARGIN = 1;
+
+    private final int width;
+    private final int height;
+
+    // the color where no sprite of the layer draws, the layer is opaque since opaque images are much faster to draw
+    private final Color backdrop;
+
+    private final List<Sprite> sprites;
+    private BufferedImage image;
+
+    // the area which has to be drawn again(inclusive-exclusive), empty if minX >= maxX
+    private int minX, minY, maxX, maxY;
+
+    /**
+     * Construct a new empty layer.
+     * @param width : the width of the layer
+     * @param height : the height of the layer
+     * @param backdrop : the color of the layer where none of its sprites draws
+     */
+    public StaticLayer(int width, int height, Color backdrop) {
+        this.width = width;
+        this.height = height;
+        this.backdrop = backdrop;
+        this.sprites = new ArrayList<>();
+    }
+
+    /**
+     * Construct a new empty layer with a white backdrop, as an empty gui surface.
+     * @param width : the width of the layer
+     * @param height : the height of the layer
+     */
+    public StaticLayer(int width, int height) {
+        this(width, height, Color.WHITE);
+    }
+
+    /**
+     * Add a sprite to this layer, it is drawn above all the sprites added before it.
+     * @param sprite : the sprite
+     */
+    public void add(Sprite sprite) {
+        this.sprites.add(sprite);
+        invalidate(sprite);
+    }
+
+    /**
+     * Remove a sprite from this layer.
+     * @param sprite : the sprite
+     * @return true if it was in this layer. false otherwise.
+     */
+    public boolean remove(Sprite sprite) {
+        if (!this.sprites.remove(sprite)) {
+            return false;
+        }
+
+        invalidate(sprite);
+        return true;
+    }
+
+    @Override
+    public void hitEvent(Block beingHit, Ball hitter) {
+        // the look of a block depends on its hit points
+        invalidate(beingHit);
+    }
+
+    @Override
+    public void hitEvent(BlockStore store, int index, Ball hitter) {
+        invalidate(store, index);
+    }
+
+    /**
+     * Mark the area of a block of a store to be drawn again.
+     * @param store : the store
+     * @param index : the index of the block
+     */
+    public void invalidate(BlockStore store, int index) {
+        // the blocks might not be on whole pixels
+        int left = (int) Math.floor(store.getX(index));
+        int top = (int) Math.floor(store.getY(index));
+
+        invalidate(left, top, left + store.getWidth(index) + 1 + STROKE_MARGIN,
+                top + store.getHeight(index) + 1 + STROKE_MARGIN);
+    }
+
+    /**
+     * Mark the area of a sprite to be drawn again.
+     * @param sprite : the sprite
+     */
+    public void invalidate(Sprite sprite) {
+        Rectangle bounds = sprite instanceof StaticSprite ? ((StaticSprite) sprite).getDrawBounds() : null;
+
+        if (bounds == null) {
+            invalidateAll();
+            return;
+        }
+
+        // the bounds might not be on whole pixels
+        int left = (int) Math.floor(bounds.getLeft());
+        int top = (int) Math.floor(bounds.getTop());
+        int right = left + bounds.getWidth() + 1 + STROKE_MARGIN;
+        int bottom = top + bounds.getHeight() + 1 + STROKE_MARGIN;
+
+        invalidate(left, top, right, bottom);
+    }
+
+    /**
+     * Mark the whole layer to be drawn again.
+     */
+    public void invalidateAll() {
+        invalidate(0, 0, this.width, this.height);
+    }
+
+    /**
+     * Add an area to the area which has to be drawn again.
+     * @param left : the left x
+     * @param top : the top y
+     * @param right : the right x(exclusive)
+     * @param bottom : the bottom y(exclusive)
+     */
+    private void invalidate(int left, int top, int right, int bottom) {
+        if (this.minX >= this.maxX) {
+            this.minX = left;
+            this.minY = top;
+            this.maxX = right;
+            this.maxY = bottom;
+        } else {
+            this.minX = Math.min(this.minX, left);
+            this.minY = Math.min(this.minY, top);
+            this.maxX = Math.max(this.maxX, right);
+            this.maxY = Math.max(this.maxY, bottom);
+        }
+    }
+
+    /**
+     * Draw this layer on a given surface, drawing the invalidated area into the cache first.
+     * @param surface : the surface
+     */
+    public void drawOn(DrawSurface surface) {
+        if (this.image == null) {
+            this.image = new BufferedImage(this.width, this.height, BufferedImage.TYPE_INT_RGB);
+            invalidateAll();
+        }
+
+        if (this.minX < this.maxX) {
+            redraw();
+        }
+
+        surface.drawImage(0, 0, this.image);
+    }
+
+    /**
+     * Draw all the sprites of this layer into the cache, limited to the invalidated area.
+     */
+    private void redraw() {
+        Graphics2D graphics = this.image.createGraphics();
+        graphics.setClip(this.minX, this.minY, this.maxX - this.minX, this.maxY - this.minY);
+
+        // clear the area, there might be nothing behind the sprites
+        graphics.setColor(this.backdrop);
+        graphics.fillRect(this.minX, this.minY, this.maxX - this.minX, this.maxY - this.minY);
+
+        DrawSurface surface = new ImageDrawSurface(graphics, this.width, this.height);
+        for (Sprite sprite : this.sprites) {
+            sprite.drawOn(surface);
+        }
+
+        graphics.dispose();
+
+        // nothing is left to draw again
+        this.maxX = this.minX;
+    }
+}
@@ -6,13 +6,23 @@ import biuoop.Sleeper;
 
 /**
  * The {@link AnimationRunner} runs one animation.
+ * Frames are timed by {@link System#nanoTime()}. A {@link FixedStepAnimation} is advanced in fixed
+ *  steps by an accumulator of the real time passed, so its speed doesn't depend on how long drawing takes.
  */
 public class AnimationRunner {
 
+    private static final long NANOS_PER_SECOND = 1000000000L;
+    private static final long NANOS_PER_MILLI = 1000000L;
+
+    public static final int DEFAULT_MAX_CATCH_UP_STEPS = 5;
+
     private final GUI gui;
     private final int fps;
     private final Sleeper sleeper;
 
+    private boolean fixedStepLoop;
+    private int maxCatchUpSteps;
+
     /**
      * Construct a new animation runner.
      * @param gui : the gui to draw on
@@ -22,6 +32,9 @@ public class AnimationRunner {
         this.gui = gui;
         this.fps = fps;
         this.sleeper = new Sleeper();
+
+        this.fixedStepLoop = true;
+        this.maxCatchUpSteps = DEFAULT_MAX_CATCH_UP_STEPS;
     }
 
     /**
@@ -32,30 +45,126 @@ public class AnimationRunner {
         this(gui, 60);
     }
 
+    /**
+     * Set whether {@link FixedStepAnimation}s are run in fixed steps. If not, they are run as any
+     *  other animation, one step of 1 / fps seconds per frame.
+     * @param enabled : true to run in fixed steps
+     */
+    public void setFixedStepLoop(boolean enabled) {
+        this.fixedStepLoop = enabled;
+    }
+
+    /**
+     * Set the maximum amount of steps taken before drawing one frame. When drawing falls behind
+     *  by more than that, the rest of the time is dropped and the animation slows down instead.
+     * @param maxSteps : the maximum amount of steps per frame
+     */
+    public void setMaxCatchUpSteps(int maxSteps) {
+        if (maxSteps < 1) {
+            throw new IllegalArgumentException("at least one step per frame must be allowed!");
+        }
+
+        this.maxCatchUpSteps = maxSteps;
+    }
+
     /**
      * Run an animation.
      * @param animation : the animation to run
      */
     public void run(Animation animation) {
-        int millisecondsPerFrame = 1000 / this.fps;
+        if (this.fixedStepLoop && animation instanceof FixedStepAnimation) {
+            runFixedStep((FixedStepAnimation) animation);
+            return;
+        }
+
+        long nanosPerFrame = NANOS_PER_SECOND / this.fps;
+        long nextFrame = System.nanoTime();
 
         // while the animation is yet to be done
         while (!animation.shouldStop()) {
-            long startTime = System.currentTimeMillis(); // timing
-
             // draw frame
             DrawSurface surface = this.gui.getDrawSurface();
             animation.doOneFrame(surface, 1D / this.fps);
             this.gui.show(surface);
 
             // timing
-            long usedTime = System.currentTimeMillis() - startTime;
-            long millisecondsLeftToSleep = millisecondsPerFrame - usedTime;
+            nextFrame = waitForFrame(nextFrame + nanosPerFrame, nanosPerFrame);
+        }
+    }
+
+    /**
+     * Run an animation in fixed steps of 1 / fps seconds.
+     * The real time passed is accumulated, every whole step of it is simulated and the remainder
+     *  is used to interpolate the drawn frame.
+     * @param animation : the animation to run
+     */
+    private void runFixedStep(FixedStepAnimation animation) {
+        double dt = 1D / this.fps;
+        long nanosPerStep = NANOS_PER_SECOND / this.fps;
 
-            // if still needs sleep
-            if (millisecondsLeftToSleep > 0) {
-                this.sleeper.sleepFor(millisecondsLeftToSleep);
+        long previousTime = System.nanoTime();
+        long nextFrame = previousTime;
+        long accumulator = 0;
+
+        while (!animation.shouldStop()) {
+            long now = System.nanoTime();
+            accumulator += now - previousTime;
+            previousTime = now;
+
+            /* simulate the passed time, up to the catch up limit */
+            int steps = 0;
+            while (accumulator >= nanosPerStep && !animation.shouldStop()) {
+                if (steps == this.maxCatchUpSteps) {
+                    // too far behind, drop the whole steps left and keep only the remainder
+                    accumulator %= nanosPerStep;
+                    break;
+                }
+
+                animation.step(dt);
+                accumulator -= nanosPerStep;
+                steps++;
+            }
+
+            // a step might have taken long(for example, a pause screen), don't count it as passed time
+            if (steps > 0) {
+                long afterSteps = System.nanoTime();
+                if (afterSteps - previousTime > nanosPerStep * this.maxCatchUpSteps) {
+                    previousTime = afterSteps;
+                    nextFrame = afterSteps;
+                }
             }
+
+            // draw frame
+            DrawSurface surface = this.gui.getDrawSurface();
+            animation.drawFrame(surface, (double) accumulator / nanosPerStep);
+            this.gui.show(surface);
+
+            // timing
+            nextFrame = waitForFrame(nextFrame + nanosPerStep, nanosPerStep);
         }
     }
+
+    /**
+     * Sleep until the time of the next frame.
+     * @param frameTime : the {@link System#nanoTime()} of the next frame
+     * @param nanosPerFrame : the length of one frame
+     * @return the time of the next frame, moved forward if more than a whole frame was missed
+     */
+    private long waitForFrame(long frameTime, long nanosPerFrame) {
+        long now = System.nanoTime();
+
+        // if fell behind by more than a frame, don't try to draw the missed frames faster
+        if (now - frameTime > nanosPerFrame) {
+            return now;
+        }
+
+        long millisecondsLeftToSleep = (frameTime - now) / NANOS_PER_MILLI;
+
+        // if still needs sleep
+        if (millisecondsLeftToSleep > 0) {
+            this.sleeper.sleepFor(millisecondsLeftToSleep);
+        }
+
+        return frameTime;
+    }
 }
@@ -0,0 +1,24 @@
+package project.game.animation;
+
+import biuoop.DrawSurface;
+
+/**
+ * {@link FixedStepAnimation} is an animation whose logic is advanced separately from its drawing.
+ * The {@link AnimationRunner} advances it in fixed time steps, possibly several times before drawing one
+ *  frame, and draws it with an interpolation factor between its last two steps.
+ */
+public interface FixedStepAnimation extends Animation {
+
+    /**
+     * Advance the logic of this animation, without drawing anything.
+     * @param dt : the fixed step time in seconds
+     */
+    void step(double dt);
+
+    /**
+     * Draw the current state of this animation.
+     * @param surface : the surface to draw on
+     * @param alpha : the fraction of a step which has passed since the last step, in [0, 1]
+     */
+    void drawFrame(DrawSurface surface, double alpha);
+}
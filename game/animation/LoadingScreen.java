@@ -0,0 +1,95 @@
+package project.game.animation;
+
+import java.awt.Color;
+
+import biuoop.DrawSurface;
+import project.game.levels.io.levelsets.LevelSet;
+import project.geometry.Point;
+import project.misc.DrawUtils;
+
+/**
+ * {@link LoadingScreen} is shown while a level set is loaded in the background, and stops once it is.
+ * While the size of the levels file is known, the part of it read so far is shown as a percentage and
+ *  a progress bar below the text.
+ */
+public class LoadingScreen extends BaseTextScreen {
+
+    // the amount of dots after the text, and how long each amount is shown
+    private static final int MAX_DOTS = 3;
+    private static final double SECONDS_PER_DOT = 0.3;
+
+    /* progress bar parameters, it is as wide as the text area of the screen */
+    private static final int BAR_MARGIN = 100;
+    private static final int BAR_OFFSET = 30;
+    private static final int BAR_HEIGHT = 16;
+    private static final Color BAR_COLOR = Color.WHITE;
+
+    private final LevelSet levelSet;
+    private double elapsed;
+
+    /**
+     * Construct a new loading screen for a level set, and start loading it if it isn't.
+     * @param levelSet : the level set
+     */
+    public LoadingScreen(LevelSet levelSet) {
+        this.levelSet = levelSet;
+        this.levelSet.loadInBackground();
+    }
+
+    @Override
+    public void doOneFrame(DrawSurface surface, double dt) {
+        this.elapsed += dt;
+        super.doOneFrame(surface, dt);
+
+        int percent = getPercent();
+
+        // the size of the file isn't known
+        if (percent < 0) {
+            return;
+        }
+
+        DrawUtils draw = new DrawUtils(surface);
+
+        Point topLeft = new Point(BAR_MARGIN, surface.getHeight() / 2 + BAR_OFFSET);
+        int width = surface.getWidth() - 2 * BAR_MARGIN;
+
+        draw.fillRectangle(topLeft, width * percent / 100, BAR_HEIGHT, BAR_COLOR);
+        draw.drawRectangle(topLeft, width, BAR_HEIGHT, BAR_COLOR);
+    }
+
+    /**
+     * Get the percentage of the levels file read so far.
+     * @return the percentage in [0, 100], or -1 if the size of the file isn't known
+     */
+    private int getPercent() {
+        long total = this.levelSet.getTotalBytes();
+
+        if (total <= 0) {
+            return -1;
+        }
+
+        return (int) Math.min(100, this.levelSet.getLoadedBytes() * 100 / total);
+    }
+
+    @Override
+    protected String getText() {
+        int dots = (int) (this.elapsed / SECONDS_PER_DOT) % (MAX_DOTS + 1);
+
+        StringBuilder text = new StringBuilder("Loading ").append(this.levelSet.getDescription());
+        for (int i = 0; i < dots; i++) {
+            text.append('.');
+        }
+
+        int percent = getPercent();
+        if (percent >= 0) {
+            text.append(' ').append(percent).append('%');
+        }
+
+        return text.toString();
+    }
+
+    @Override
+    public boolean shouldStop() {
+        return this.levelSet.isLoaded();
+    }
+}
@@ -10,6 +10,7 @@ import project.game.GameFlow;
 import project.game.animation.AnimationRunner;
 import project.game.animation.HighScoresAnimation;
 import project.game.animation.KeyPressStoppableAnimation;
+import project.game.animation.LoadingScreen;
 import project.game.levels.io.levelsets.LevelSet;
 import project.game.scores.HighScoresTable;
 import project.game.tasks.Task;
@@ -46,7 +47,7 @@ public class MainMenu implements Menu<Task<Void>> {
         game.setHighScores(highscores);
 
         // add the play game selection
-        initPlayGame(levelsetPath, saveHighscores, game, keyboard, menu);
+        initPlayGame(levelsetPath, saveHighscores, game, runner, keyboard, menu);
 
         // add the show high scores animation
         initHighscores(runner, keyboard, highscores, menu);
@@ -60,14 +61,17 @@ public class MainMenu implements Menu<Task<Void>> {
 
     /**
      * Initialize the play game choice.
+     * Only the keys and descriptions of the level sets are read here, their levels are loaded in the
+     *  background, and a selected set which isn't loaded yet shows a loading screen until it is.
      * @param levelsetPath : a path to the level sets
      * @param saveHighscores : a task which saves highscores
      * @param game : a gameflow instance
+     * @param runner : an animation runner
      * @param keyboard : a keyboard sensor
      * @param menu : a menu
      */
     private void initPlayGame(String levelsetPath, Task<Void> saveHighscores,
-            GameFlow game, KeyboardSensor keyboard, Menu<Task<Void>> menu) {
+            GameFlow game, AnimationRunner runner, KeyboardSensor keyboard, Menu<Task<Void>> menu) {
         Menu<Task<Void>> subMenu = new MenuAnimation<>("Select a Level Set", keyboard);
         menu.addSubMenu("s", "Play Game", subMenu);
 
@@ -79,12 +83,18 @@ public class MainMenu implements Menu<Task<Void>> {
             while (!Utils.isEOF(levelSetReader)) {
                 // read a level set
                 LevelSet set = LevelSet.fromReader(levelSetReader);
+                set.loadInBackground();
 
                 // add it as a selection to the level sets
                 subMenu.addSelection(set.getKey(), set.getDescription(), new Task<Void>() {
 
                     @Override
                     public Void run() {
+                        // wait for the levels if they are still loading
+                        if (!set.isLoaded()) {
+                            runner.run(new LoadingScreen(set));
+                        }
+
                         // run the levels
                         game.runLevels(set.getLevels());
 
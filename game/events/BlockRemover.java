@@ -3,12 +3,13 @@ package project.game.events;
 import project.game.GameLevel;
 import project.game.objects.collidables.Ball;
 import project.game.objects.collidables.block.Block;
+import project.game.objects.collidables.block.BlockStore;
 import project.misc.Counter;
 
 /**
  * {@link BlockRemover} is a listener that removes blocks.
  */
-public class BlockRemover implements HitListener {
+public class BlockRemover implements HitListener, BlockStoreListener {
 
     private GameLevel game;
     private Counter remainingBlocks;
@@ -38,4 +39,16 @@ public class BlockRemover implements HitListener {
         }
     }
 
+    @Override
+    public void hitEvent(BlockStore store, int index, Ball hitter) {
+        // if this block is done
+        if (store.getHitPoints(index) <= 0 && !store.isRemoved(index)) {
+            // decrease the amount of remaining blocks
+            this.remainingBlocks.decrease(1);
+
+            // remove the block from the game
+            this.game.removeBlock(store, index);
+        }
+    }
+
 }
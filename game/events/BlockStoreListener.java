@@ -0,0 +1,18 @@
+package project.game.events;
+
+import project.game.objects.collidables.Ball;
+import project.game.objects.collidables.block.BlockStore;
+
+/**
+ * {@link BlockStoreListener} is a listener for hits of the blocks of a {@link BlockStore}.
+ */
+public interface BlockStoreListener {
+
+    /**
+     * Notify this object that a hit has occurred.
+     * @param store : the store of the block that was hit
+     * @param index : the index of the block in the store
+     * @param hitter : the ball that hit it
+     */
+    void hitEvent(BlockStore store, int index, Ball hitter);
+}
@@ -2,15 +2,21 @@ package project.game.events;
 
 import project.game.objects.collidables.Ball;
 import project.game.objects.collidables.block.Block;
+import project.game.objects.collidables.block.BlockStore;
 
 /**
  * {@link PrintingHitListener} is a listener that prints when a ball was hit.
  */
-public class PrintingHitListener implements HitListener {
+public class PrintingHitListener implements HitListener, BlockStoreListener {
 
     @Override
     public void hitEvent(Block beingHit, Ball hitter) {
         System.out.println("A block with " + beingHit.getHitPoints() + " points was hit.");
     }
 
+    @Override
+    public void hitEvent(BlockStore store, int index, Ball hitter) {
+        System.out.println("A block with " + store.getHitPoints(index) + " points was hit.");
+    }
+
 }
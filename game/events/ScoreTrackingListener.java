@@ -2,12 +2,13 @@ package project.game.events;
 
 import project.game.objects.collidables.Ball;
 import project.game.objects.collidables.block.Block;
+import project.game.objects.collidables.block.BlockStore;
 import project.misc.Counter;
 
 /**
  * {@link ScoreTrackingListener} is a listener that counts score.
  */
-public class ScoreTrackingListener implements HitListener {
+public class ScoreTrackingListener implements HitListener, BlockStoreListener {
 
     private Counter scoreCounter;
 
@@ -29,4 +30,14 @@ public class ScoreTrackingListener implements HitListener {
         }
     }
 
+    @Override
+    public void hitEvent(BlockStore store, int index, Ball hitter) {
+        this.scoreCounter.increase(5);
+
+        // if the block was destroyed
+        if (store.getHitPoints(index) == 0) {
+            this.scoreCounter.increase(10);
+        }
+    }
+
 }
@@ -6,6 +6,7 @@ import java.util.List;
 import project.game.DrawScreen;
 import project.game.objects.Sprite;
 import project.game.objects.collidables.block.Block;
+import project.game.objects.collidables.block.BlockStore;
 import project.geometry.EqualSegmentDivision;
 import project.geometry.Segment;
 import project.geometry.Velocity;
@@ -96,18 +97,49 @@ public abstract class BaseLevelInformation implements LevelInformation {
         return this.blocksGenerator.generate();
     }
 
+    @Override
+    public BlockStore blockStore() {
+        return store().copy();
+    }
+
     @Override
     public int numberOfBlocksToRemove() {
-        return this.blocksGenerator.amount();
+        return statistics().removableBlocks();
+    }
+
+    @Override
+    public LevelStatistics statistics() {
+        // computed once for the blocks of the current screen
+        if (this.statistics == null) {
+            this.statistics = LevelStatistics.of(store());
+        }
+
+        return this.statistics;
+    }
+
+    /**
+     * Get the store of the blocks of the current screen, which is made once and only copied after.
+     * @return the store, which must not be changed
+     */
+    private BlockStore store() {
+        if (this.store == null) {
+            this.store = BlockStore.of(this.blocksGenerator.generate());
+        }
+
+        return this.store;
     }
 
     private DrawScreen drawScreen;
     private BlocksGenerator blocksGenerator;
+    private BlockStore store;
+    private LevelStatistics statistics;
 
     @Override
     public void setLevelScreen(DrawScreen screen) {
         this.drawScreen = screen;
         this.blocksGenerator = this.blocksGeneratorFactory.make(screen);
+        this.store = null;
+        this.statistics = null;
     }
 
     /**
@@ -0,0 +1,166 @@
+package project.game.levels;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import project.game.levels.io.blocks.BlockCreator;
+import project.game.levels.io.blocks.BlockPrototype;
+import project.game.objects.collidables.block.Block;
+import project.game.objects.collidables.block.BlockStore;
+
+/**
+ * {@link BlockLayout} is an immutable {@link BlocksGenerator} holding where every block of a level is
+ *  and which creator makes it. The symbol lines of a level are scanned once into a layout, and every play
+ *  of the level only creates the blocks.
+ * The {@link LevelStatistics} of the blocks are computed once, when the layout is made, from the values of
+ *  the prototypes and the positions, so no block is created for them.
+ */
+public final class BlockLayout implements BlocksGenerator {
+
+    private final BlockCreator[] creators;
+    private final int[] xs;
+    private final int[] ys;
+
+    private final LevelStatistics statistics;
+
+    /**
+     * Construct a new layout. Block i is made by creators[i] at (xs[i], ys[i]).
+     * @param creators : the creators of the blocks
+     * @param xs : the x positions of the blocks
+     * @param ys : the y positions of the blocks
+     */
+    public BlockLayout(BlockCreator[] creators, int[] xs, int[] ys) {
+        this.creators = creators.clone();
+        this.xs = xs.clone();
+        this.ys = ys.clone();
+
+        this.statistics = computeStatistics();
+    }
+
+    /**
+     * Compute the statistics of the blocks. Only blocks made by a creator which isn't a {@link BlockPrototype}
+     *  are created for it.
+     * @return the statistics
+     */
+    private LevelStatistics computeStatistics() {
+        if (this.creators.length == 0) {
+            return new LevelStatistics(0, 0, 0, 0, 0, 0);
+        }
+
+        int hitPoints = 0;
+        int left = Integer.MAX_VALUE, top = Integer.MAX_VALUE;
+        int right = Integer.MIN_VALUE, bottom = Integer.MIN_VALUE;
+
+        for (int i = 0; i < this.creators.length; i++) {
+            int hits, width, height;
+
+            if (this.creators[i] instanceof BlockPrototype) {
+                BlockPrototype prototype = (BlockPrototype) this.creators[i];
+
+                hits = prototype.hits();
+                width = prototype.width();
+                height = prototype.height();
+            } else {
+                Block block = this.creators[i].create(this.xs[i], this.ys[i]);
+
+                hits = block.getHitPoints();
+                width = block.width();
+                height = block.height();
+            }
+
+            // a block without hit points is still removed by a hit
+            hitPoints += Math.max(hits, 1);
+
+            left = Math.min(left, this.xs[i]);
+            top = Math.min(top, this.ys[i]);
+            right = Math.max(right, this.xs[i] + width);
+            bottom = Math.max(bottom, this.ys[i] + height);
+        }
+
+        return new LevelStatistics(this.creators.length, hitPoints, left, top, right, bottom);
+    }
+
+    @Override
+    public List<Block> generate() {
+        List<Block> blocks = new ArrayList<>(this.creators.length);
+
+        for (int i = 0; i < this.creators.length; i++) {
+            blocks.add(this.creators[i].create(this.xs[i], this.ys[i]));
+        }
+
+        return blocks;
+    }
+
+    /**
+     * Create a store holding the blocks. Blocks made by a {@link BlockPrototype} are written straight
+     *  into the store, without creating a {@link Block} for them.
+     * @return a new store
+     */
+    public BlockStore toStore() {
+        BlockStore store = new BlockStore(this.creators.length);
+        Map<BlockCreator, Integer> prototypes = new IdentityHashMap<>();
+
+        for (int i = 0; i < this.creators.length; i++) {
+            BlockCreator creator = this.creators[i];
+
+            if (!(creator instanceof BlockPrototype)) {
+                store.add(creator.create(this.xs[i], this.ys[i]));
+                continue;
+            }
+
+            BlockPrototype prototype = (BlockPrototype) creator;
+            Integer id = prototypes.get(prototype);
+
+            if (id == null) {
+                id = store.prototype(prototype.background(), prototype.stroke());
+                prototypes.put(prototype, id);
+            }
+
+            store.add(this.xs[i], this.ys[i], prototype.width(), prototype.height(), prototype.hits(), id);
+        }
+
+        return store;
+    }
+
+    @Override
+    public int amount() {
+        return this.creators.length;
+    }
+
+    /**
+     * Get the statistics of the blocks.
+     * @return the statistics
+     */
+    public LevelStatistics statistics() {
+        return this.statistics;
+    }
+
+    /**
+     * Get the creator of a block.
+     * @param i : the index of the block
+     * @return the creator
+     */
+    public BlockCreator getCreator(int i) {
+        return this.creators[i];
+    }
+
+    /**
+     * Get the x position of a block.
+     * @param i : the index of the block
+     * @return the x position
+     */
+    public int getX(int i) {
+        return this.xs[i];
+    }
+
+    /**
+     * Get the y position of a block.
+     * @param i : the index of the block
+     * @return the y position
+     */
+    public int getY(int i) {
+        return this.ys[i];
+    }
+}
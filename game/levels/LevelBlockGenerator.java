@@ -3,6 +3,7 @@ package project.game.levels;
 import java.util.ArrayList;
 import java.util.List;
 
+import project.game.levels.io.blocks.BlockCreator;
 import project.game.levels.io.blocks.BlocksFromSymbolFactory;
 import project.game.objects.collidables.block.Block;
 
@@ -17,12 +18,16 @@ public class LevelBlockGenerator implements BlocksGenerator {
     private int blockStartY;
     private int rowHeight;
 
+    // the last compiled layout, dropped whenever a value changes
+    private BlockLayout layout;
+
     /**
      * Set the start x of the blocks.
      * @param i : the start x position
      */
     public void setBlockStartX(int i) {
         this.blockStartX = i;
+        this.layout = null;
     }
 
 
@@ -32,6 +37,7 @@ public class LevelBlockGenerator implements BlocksGenerator {
      */
     public void setBlockStartY(int i) {
         this.blockStartY = i;
+        this.layout = null;
     }
 
     /**
@@ -40,6 +46,7 @@ public class LevelBlockGenerator implements BlocksGenerator {
      */
     public void setRowHeight(int i) {
         this.rowHeight = i;
+        this.layout = null;
     }
 
     /**
@@ -48,6 +55,7 @@ public class LevelBlockGenerator implements BlocksGenerator {
      */
     public void setBlockFactory(BlocksFromSymbolFactory fac) {
         this.factory = fac;
+        this.layout = null;
     }
 
     /**
@@ -56,6 +64,7 @@ public class LevelBlockGenerator implements BlocksGenerator {
      */
     public void setLines(List<String> ls) {
         this.lines = ls;
+        this.layout = null;
     }
 
     /**
@@ -63,7 +72,31 @@ public class LevelBlockGenerator implements BlocksGenerator {
      * @return the blocks
      */
     public List<Block> blocks() {
-        List<Block> blocks = new ArrayList<>();
+        return compile().generate();
+    }
+
+    /**
+     * Scan the input lines into a layout of the blocks, which creates them without scanning again.
+     * The layout is kept until one of the values is set again, the lines must not be changed after
+     *  they are set.
+     * @return the layout
+     */
+    public BlockLayout compile() {
+        if (this.layout == null) {
+            this.layout = scan();
+        }
+
+        return this.layout;
+    }
+
+    /**
+     * Scan the input lines into a layout of the blocks.
+     * @return the layout
+     */
+    private BlockLayout scan() {
+        List<BlockCreator> creators = new ArrayList<>();
+        List<Integer> xs = new ArrayList<>();
+        List<Integer> ys = new ArrayList<>();
 
         int y = this.blockStartY;
 
@@ -79,14 +112,16 @@ public class LevelBlockGenerator implements BlocksGenerator {
 
             for (int j = 0; j < ln.length(); j++) {
                 String symbol = ln.substring(j, j + 1);
+                BlockCreator creator = this.factory.getBlockCreator(symbol);
 
-                if (this.factory.isBlockSymbol(symbol)) {
+                if (creator != null) {
                     // add the current block
-                    Block b = this.factory.getBlock(symbol, x, y);
-                    blocks.add(b);
+                    creators.add(creator);
+                    xs.add(x);
+                    ys.add(y);
 
                     // and its width
-                    x += b.width();
+                    x += this.factory.getBlockWidth(symbol);
 
                 } else if (this.factory.isSpaceSymbol(symbol)) {
                     // if this is a space, just add it
@@ -98,7 +133,22 @@ public class LevelBlockGenerator implements BlocksGenerator {
             y += this.rowHeight;
         }
 
-        return blocks;
+        return new BlockLayout(creators.toArray(new BlockCreator[0]), toArray(xs), toArray(ys));
+    }
+
+    /**
+     * Convert a list of integers to an array.
+     * @param list : the list
+     * @return the array
+     */
+    private static int[] toArray(List<Integer> list) {
+        int[] arr = new int[list.size()];
+
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = list.get(i);
+        }
+
+        return arr;
     }
 
     @Override
@@ -108,6 +158,6 @@ public class LevelBlockGenerator implements BlocksGenerator {
 
     @Override
     public int amount() {
-        throw new UnsupportedOperationException("Unsupported for this instance.");
+        return compile().amount();
     }
 }
@@ -5,6 +5,7 @@ import java.util.List;
 import project.game.DrawScreen;
 import project.game.objects.Sprite;
 import project.game.objects.collidables.block.Block;
+import project.game.objects.collidables.block.BlockStore;
 import project.geometry.Velocity;
 
 /**
@@ -61,6 +62,12 @@ public interface LevelInformation {
      */
     List<Block> blocks();
 
+    /**
+     * A new store holding the blocks in this level.
+     * @return the store
+     */
+    BlockStore blockStore();
+
     /**
      * The amount of blocks that have to be destroyed in order to have this level cleared.
      * @return an integer
@@ -68,7 +75,16 @@ public interface LevelInformation {
     int numberOfBlocksToRemove();
 
     /**
-     * Set the boundaries for this level.
+     * The statistics of the blocks in this level.
+     * @return the statistics
+     */
+    LevelStatistics statistics();
+
+    /**
+     * Set the boundaries for this level. It's called by every {@link project.game.GameLevel} before the
+     *  level is asked for anything else.
+     * Levels whose blocks and background depend on the screen make them for it, levels read from files
+     *  have fixed positions and ignore it(this is a no-op for them).
      * @param screen : the boundaries
      */
     void setLevelScreen(DrawScreen screen);
@@ -0,0 +1,134 @@
+package project.game.levels;
+
+import java.util.List;
+
+import project.game.objects.collidables.block.Block;
+import project.game.objects.collidables.block.BlockStore;
+import project.geometry.Point;
+import project.geometry.Rectangle;
+
+/**
+ * {@link LevelStatistics} holds the values of the blocks of a level, computed once when the level is
+ *  compiled, so the game never has to count its blocks(or trust a declared count).
+ */
+public final class LevelStatistics {
+
+    private final int removableBlocks;
+    private final int totalHitPoints;
+
+    // the area covered by the blocks, empty if there are none
+    private final int left;
+    private final int top;
+    private final int right;
+    private final int bottom;
+
+    /**
+     * Construct new statistics.
+     * @param removableBlocks : the amount of blocks which have to be removed to clear the level
+     * @param totalHitPoints : the amount of hits needed to remove all of them
+     * @param left : the left of the area covered by the blocks
+     * @param top : the top of the area covered by the blocks
+     * @param right : the right of the area covered by the blocks
+     * @param bottom : the bottom of the area covered by the blocks
+     */
+    public LevelStatistics(int removableBlocks, int totalHitPoints, int left, int top, int right, int bottom) {
+        this.removableBlocks = removableBlocks;
+        this.totalHitPoints = totalHitPoints;
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+    }
+
+    /**
+     * Compute the statistics of a list of blocks.
+     * @param blocks : the blocks
+     * @return the statistics
+     */
+    public static LevelStatistics of(List<Block> blocks) {
+        if (blocks.isEmpty()) {
+            return new LevelStatistics(0, 0, 0, 0, 0, 0);
+        }
+
+        int hitPoints = 0;
+        int left = Integer.MAX_VALUE, top = Integer.MAX_VALUE;
+        int right = Integer.MIN_VALUE, bottom = Integer.MIN_VALUE;
+
+        for (Block block : blocks) {
+            // a block without hit points is still removed by a hit
+            hitPoints += Math.max(block.getHitPoints(), 1);
+
+            Point p = block.topLeft();
+
+            left = Math.min(left, p.xFloored());
+            top = Math.min(top, p.yFloored());
+            right = Math.max(right, p.xFloored() + block.width());
+            bottom = Math.max(bottom, p.yFloored() + block.height());
+        }
+
+        return new LevelStatistics(blocks.size(), hitPoints, left, top, right, bottom);
+    }
+
+    /**
+     * Compute the statistics of the blocks of a store which weren't removed.
+     * @param store : the store
+     * @return the statistics
+     */
+    public static LevelStatistics of(BlockStore store) {
+        if (store.remaining() == 0) {
+            return new LevelStatistics(0, 0, 0, 0, 0, 0);
+        }
+
+        int hitPoints = 0;
+        int left = Integer.MAX_VALUE, top = Integer.MAX_VALUE;
+        int right = Integer.MIN_VALUE, bottom = Integer.MIN_VALUE;
+
+        for (int i = 0; i < store.size(); i++) {
+            if (store.isRemoved(i)) {
+                continue;
+            }
+
+            hitPoints += Math.max(store.getHitPoints(i), 1);
+
+            int x = (int) Math.floor(store.getX(i));
+            int y = (int) Math.floor(store.getY(i));
+
+            left = Math.min(left, x);
+            top = Math.min(top, y);
+            right = Math.max(right, x + store.getWidth(i));
+            bottom = Math.max(bottom, y + store.getHeight(i));
+        }
+
+        return new LevelStatistics(store.remaining(), hitPoints, left, top, right, bottom);
+    }
+
+    /**
+     * Get the amount of blocks which have to be removed to clear the level.
+     * @return the amount
+     */
+    public int removableBlocks() {
+        return this.removableBlocks;
+    }
+
+    /**
+     * Get the amount of hits needed to remove all the blocks.
+     * @return the amount
+     */
+    public int totalHitPoints() {
+        return this.totalHitPoints;
+    }
+
+    /**
+     * Get the area covered by the blocks.
+     * @return a new rectangle bounding all the blocks, of size 0 if there are no blocks
+     */
+    public Rectangle getBounds() {
+        return new Rectangle(new Point(this.left, this.top), this.right - this.left, this.bottom - this.top);
+    }
+
+    @Override
+    public String toString() {
+        return "LevelStatistics[blocks=" + this.removableBlocks + ", hitPoints=" + this.totalHitPoints
+                + ", bounds=(" + this.left + ", " + this.top + ")-(" + this.right + ", " + this.bottom + ")]";
+    }
+}
@@ -23,12 +23,15 @@ public class BackgroundParser {
         OneBackground bg = null;
 
         Color c = this.colorsParser.colorFromString(value);
-        Image img = this.imageParser.parseImage(value);
 
         if (c != null) {
             bg = new OneBackground(c);
         } else {
-            bg = new OneBackground(img);
+            String imagePath = this.imageParser.parseImagePath(value);
+            Image img = this.imageParser.parseImage(value);
+
+            // an image which was read is drawn from the cache, at the size it is drawn at
+            bg = img == null ? new OneBackground((Image) null) : new OneBackground(imagePath, img);
         }
 
         return bg;
@@ -0,0 +1,41 @@
+package project.game.levels.io;
+
+/**
+ * {@link LevelFormatException} is thrown when a level file or a block definitions file isn't in the
+ *  expected format. It tells where in the input the problem was found.
+ */
+public class LevelFormatException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int line;
+    private final int column;
+
+    /**
+     * Construct a new exception.
+     * @param line : the line of the problem, starting from 1
+     * @param column : the column of the problem, starting from 1
+     * @param message : the problem
+     */
+    public LevelFormatException(int line, int column, String message) {
+        super("line " + line + ", column " + column + ": " + message);
+        this.line = line;
+        this.column = column;
+    }
+
+    /**
+     * Get the line of the problem.
+     * @return the line, starting from 1
+     */
+    public int getLine() {
+        return this.line;
+    }
+
+    /**
+     * Get the column of the problem.
+     * @return the column, starting from 1
+     */
+    public int getColumn() {
+        return this.column;
+    }
+}
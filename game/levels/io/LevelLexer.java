@@ -0,0 +1,284 @@
+package project.game.levels.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * {@link LevelLexer} splits the level and block definitions formats into tokens, in a single pass over
+ *  the input and without regular expressions.
+ * A line is made of words and properties, separated by whitespace. A property is a name made of letters,
+ *  digits, '_' and '-', a ':' and a non-empty value. A value may contain spaces, but not a space followed
+ *  by the name of another property, and trailing spaces are dropped. Lines starting with '#'(after any
+ *  whitespace) are comments, a '#' anywhere else is a part of a word or a value.
+ * The current token is read through the getters, so no object is created per token.
+ */
+public class LevelLexer {
+
+    /**
+     * The types of the tokens.
+     */
+    public enum TokenType {
+        WORD, PROPERTY, END_OF_LINE, END_OF_INPUT
+    }
+
+    private static final char COMMENT = '#';
+
+    private final BufferedReader reader;
+
+    // the current line, and the position of the next character in it
+    private String text;
+    private int position;
+    private int lineNumber;
+
+    // whether no token was read from the current line yet
+    private boolean lineStart;
+
+    // the current token
+    private TokenType type;
+    private String name;
+    private String value;
+    private int tokenColumn;
+    private boolean tokenFirst;
+
+    /**
+     * Construct a new lexer reading from a given reader.
+     * @param reader : the reader
+     */
+    public LevelLexer(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    /**
+     * Read the next token.
+     * @return the type of the token
+     * @throws IOException : if an error occurred while reading
+     */
+    public TokenType next() throws IOException {
+        this.name = null;
+        this.value = null;
+
+        if (this.type == TokenType.END_OF_INPUT) {
+            return this.type;
+        }
+
+        // start the next line if the current one ended(or there's none yet)
+        if (this.text == null) {
+            if (!readLine()) {
+                return token(TokenType.END_OF_INPUT, 1);
+            }
+        }
+
+        skipSpaces();
+
+        // only the first token of a line might start a comment
+        this.tokenFirst = this.lineStart;
+        this.lineStart = false;
+
+        if (this.position == this.text.length() || (this.tokenFirst && this.text.charAt(this.position) == COMMENT)) {
+            int column = this.text.length() + 1;
+            this.text = null;
+            return token(TokenType.END_OF_LINE, column);
+        }
+
+        int start = this.position;
+        int nameEnd = skipName(start);
+
+        if (nameEnd > start && nameEnd < this.text.length() && this.text.charAt(nameEnd) == ':') {
+            String propertyValue = readValue(nameEnd + 1);
+
+            if (!propertyValue.isEmpty()) {
+                this.name = this.text.substring(start, nameEnd);
+                this.value = propertyValue;
+                return token(TokenType.PROPERTY, start + 1);
+            }
+
+            // a property must have a value, without one it's just a word
+            this.name = this.text.substring(start, nameEnd + 1);
+            return token(TokenType.WORD, start + 1);
+        }
+
+        // a word ends at a whitespace
+        int end = start;
+        while (end < this.text.length() && !Character.isWhitespace(this.text.charAt(end))) {
+            end++;
+        }
+
+        this.name = this.text.substring(start, end);
+        this.position = end;
+        return token(TokenType.WORD, start + 1);
+    }
+
+    /**
+     * Read the next whole line without splitting it, skipping what's left of the current line.
+     * @return the line, or null if there are no more lines
+     * @throws IOException : if an error occurred while reading
+     */
+    public String readRawLine() throws IOException {
+        if (this.type == TokenType.END_OF_INPUT || !readLine()) {
+            token(TokenType.END_OF_INPUT, 1);
+            return null;
+        }
+
+        String line = this.text;
+        this.text = null;
+
+        token(TokenType.END_OF_LINE, line.length() + 1);
+        return line;
+    }
+
+    /**
+     * Get the name of the current token(the text of a word, or the name of a property).
+     * @return the name, or null for the other tokens
+     */
+    public String name() {
+        return this.name;
+    }
+
+    /**
+     * Get the value of the current property.
+     * @return the value, or null if the current token isn't a property
+     */
+    public String value() {
+        return this.value;
+    }
+
+    /**
+     * Get the line of the current token.
+     * @return the line, starting from 1
+     */
+    public int line() {
+        return this.lineNumber;
+    }
+
+    /**
+     * Get the column of the current token.
+     * @return the column, starting from 1
+     */
+    public int column() {
+        return this.tokenColumn;
+    }
+
+    /**
+     * Query whether the current token is a word alone on its line(apart from whitespace), such as the
+     *  markers of the sections of a file.
+     * @return true if it is. false otherwise.
+     */
+    public boolean isWholeLine() {
+        if (this.type != TokenType.WORD || !this.tokenFirst) {
+            return false;
+        }
+
+        for (int i = this.position; i < this.text.length(); i++) {
+            if (!Character.isWhitespace(this.text.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Create an exception for a problem found at the current token.
+     * @param message : the problem
+     * @return the exception
+     */
+    public LevelFormatException error(String message) {
+        return new LevelFormatException(this.lineNumber, this.tokenColumn, message);
+    }
+
+    /**
+     * Read the next line of the input.
+     * @return true if there was a line. false if arrived at the end of the input.
+     * @throws IOException : if an error occurred while reading
+     */
+    private boolean readLine() throws IOException {
+        this.text = this.reader.readLine();
+        this.position = 0;
+        this.lineStart = true;
+
+        if (this.text == null) {
+            return false;
+        }
+
+        this.lineNumber++;
+        return true;
+    }
+
+    /**
+     * Set the current token.
+     * @param tokenType : the type of the token
+     * @param column : the column of the token
+     * @return the type of the token
+     */
+    private TokenType token(TokenType tokenType, int column) {
+        this.type = tokenType;
+        this.tokenColumn = column;
+        return tokenType;
+    }
+
+    /**
+     * Skip the whitespaces at the position.
+     */
+    private void skipSpaces() {
+        while (this.position < this.text.length() && Character.isWhitespace(this.text.charAt(this.position))) {
+            this.position++;
+        }
+    }
+
+    /**
+     * Skip the characters of a name.
+     * @param start : the position the name starts at
+     * @return the position after the name
+     */
+    private int skipName(int start) {
+        int i = start;
+
+        while (i < this.text.length() && isNameChar(this.text.charAt(i))) {
+            i++;
+        }
+
+        return i;
+    }
+
+    /**
+     * Read the value of a property, and move past it.
+     * @param start : the position the value starts at
+     * @return the value
+     */
+    private String readValue(int start) {
+        int i = start;
+        int end = start;
+
+        while (i < this.text.length()) {
+            char c = this.text.charAt(i);
+
+            if (c == ' ') {
+                // a space followed by another property ends the value
+                int nameEnd = skipName(i + 1);
+                if (nameEnd > i + 1 && nameEnd < this.text.length() && this.text.charAt(nameEnd) == ':') {
+                    break;
+                }
+            } else if (Character.isWhitespace(c)) {
+                break;
+            } else {
+                // the value doesn't end with spaces
+                end = i + 1;
+            }
+
+            i++;
+        }
+
+        this.position = i;
+        return this.text.substring(start, end);
+    }
+
+    /**
+     * Query whether a character may be a part of a name.
+     * @param c : the character
+     * @return true if it may. false otherwise.
+     */
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+    }
+}
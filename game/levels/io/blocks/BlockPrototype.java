@@ -0,0 +1,84 @@
+package project.game.levels.io.blocks;
+
+import java.awt.Color;
+
+import project.game.objects.collidables.block.Background;
+import project.game.objects.collidables.block.Block;
+import project.geometry.Point;
+
+/**
+ * {@link BlockPrototype} is an immutable {@link BlockCreator} holding a parsed block definition.
+ * The definition is parsed once, and every created block only gets its position and the shared values
+ *  (the background table and the stroke color are shared, not copied).
+ */
+public final class BlockPrototype implements BlockCreator {
+
+    private final int width;
+    private final int height;
+    private final int hits;
+    private final Color stroke;
+    private final Background background;
+
+    /**
+     * Construct a new prototype from a block, taking its size, hit points, stroke and background.
+     * @param template : the block, which is not used after this call
+     */
+    public BlockPrototype(Block template) {
+        this.width = template.width();
+        this.height = template.height();
+        this.hits = template.getHitPoints();
+        this.stroke = template.getStroke();
+        this.background = template.getBackground();
+    }
+
+    @Override
+    public Block create(int xpos, int ypos) {
+        Block b = new Block(new Point(xpos, ypos), this.width, this.height);
+
+        b.setHits(this.hits);
+        b.setStroke(this.stroke);
+        b.setBackground(this.background);
+
+        return b;
+    }
+
+    /**
+     * Get the width of the created blocks.
+     * @return the width
+     */
+    public int width() {
+        return this.width;
+    }
+
+    /**
+     * Get the height of the created blocks.
+     * @return the height
+     */
+    public int height() {
+        return this.height;
+    }
+
+    /**
+     * Get the hit points of the created blocks.
+     * @return the hit points
+     */
+    public int hits() {
+        return this.hits;
+    }
+
+    /**
+     * Get the stroke color of the created blocks.
+     * @return the color, might be null
+     */
+    public Color stroke() {
+        return this.stroke;
+    }
+
+    /**
+     * Get the background of the created blocks.
+     * @return the background, might be null
+     */
+    public Background background() {
+        return this.background;
+    }
+}
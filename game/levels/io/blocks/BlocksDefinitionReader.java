@@ -1,13 +1,16 @@
 package project.game.levels.io.blocks;
 
-import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import project.game.levels.io.PropertyParser;
+import project.game.levels.io.LevelFormatException;
+import project.game.levels.io.LevelLexer;
+import project.game.levels.io.LevelLexer.TokenType;
 import project.game.levels.io.blocks.properties.BlockProperty;
 import project.game.levels.io.blocks.properties.FillProperty;
 import project.game.levels.io.blocks.properties.HeightProperty;
@@ -16,86 +19,13 @@ import project.game.levels.io.blocks.properties.StrokeProperty;
 import project.game.levels.io.blocks.properties.WidthProperty;
 import project.game.objects.collidables.block.Block;
 import project.geometry.Point;
+import project.misc.Utils;
 
 /**
  * {@link BlocksDefinitionReader} reads blocks definitions from a given input.
  */
 public class BlocksDefinitionReader {
 
-    /**
-     * This class holds a pair of a symbol and a value.
-     *
-     * @param <T> : the type of the value
-     */
-    private static class SymbolValuePair<T> {
-
-        private final String symbol;
-        private final T value;
-
-
-        /**
-         * Construct a new pair.
-         * @param symbol : the symbol
-         * @param value : the value
-         */
-        public SymbolValuePair(String symbol, T value) {
-            this.symbol = symbol;
-            this.value = value;
-        }
-    }
-
-    /**
-     * {@link PropertyDrivenBlockCreator} is a {@link BlockCreator} which
-     *  creates blocks with given properties.
-     */
-    private static class PropertyDrivenBlockCreator implements BlockCreator {
-
-        private final Map<String, String> props;
-        private final Map<String, BlockProperty> nameToProperty;
-
-        private final BlockCreator base;
-
-        /**
-         * Generate a {@link PropertyDrivenBlockCreator} from given properties.
-         * @param props : a map of name-value properties
-         * @param base : a base block creator to wrap around
-         */
-        public PropertyDrivenBlockCreator(Map<String, String> props, BlockCreator base) {
-            this.props = props;
-            this.base = base;
-
-            this.nameToProperty = new HashMap<>();
-
-            // calculate firsthand the matches between property names to the actual properties
-            for (String propName : props.keySet()) {
-                for (BlockProperty bp : BLOCK_PROPERTIES) {
-                    if (bp.is(propName)) {
-                        this.nameToProperty.put(propName, bp);
-                        break;
-                    }
-                }
-            }
-        }
-
-        @Override
-        public Block create(int xpos, int ypos) {
-            Block b = this.base == null ? new Block(new Point(xpos, ypos)) : this.base.create(xpos, ypos);
-
-            for (Entry<String, String> prop : this.props.entrySet()) {
-                BlockProperty currProperty = this.nameToProperty.get(prop.getKey());
-
-                // might have a property which is not block-related
-                if (currProperty == null) {
-                    continue;
-                }
-
-                currProperty.apply(prop.getKey(), prop.getValue(), b);
-            }
-
-            return b;
-        }
-    }
-
     private static final BlockProperty[] BLOCK_PROPERTIES = new BlockProperty[] {
             new FillProperty(),
             new HeightProperty(),
@@ -104,6 +34,10 @@ public class BlocksDefinitionReader {
             new StrokeProperty()
     };
 
+    // the block property of every property name seen, null for names which aren't block properties
+    private static final Map<String, BlockProperty> DISPATCH = Collections.synchronizedMap(
+            new HashMap<String, BlockProperty>());
+
     private static final String DEFAULT = "default";
     private static final String BLOCK = "bdef";
     private static final String SPACER = "sdef";
@@ -112,66 +46,137 @@ public class BlocksDefinitionReader {
      * Create a BlocksFromSymbolFactory from a given reader.
      * @param reader : the reader
      * @return a {@link BlocksFromSymbolFactory}
+     * @throws LevelFormatException : if the input isn't in the format
      */
     public static BlocksFromSymbolFactory fromReader(Reader reader) {
-        BufferedReader br = new BufferedReader(reader);
+        LevelLexer lexer = new LevelLexer(reader);
 
         Map<String, BlockCreator> bCreators = new HashMap<>();
         Map<String, Integer> spacers = new HashMap<>();
 
         BlockCreator defaultCreator = null;
 
-        Iterator<String> lines = br.lines().iterator();
-
-        while (lines.hasNext()) {
-            String line = lines.next();
-
-            if (line.startsWith(DEFAULT)) {
-                // default properties
-                defaultCreator = generateBlockCreator(line, null).value;
-            } else if (line.startsWith(BLOCK)) {
-                // block properties
-                SymbolValuePair<BlockCreator> pair = generateBlockCreator(line, defaultCreator);
-                bCreators.put(pair.symbol, pair.value);
-            } else if (line.startsWith(SPACER)) {
-                // spacer properties
-                SymbolValuePair<Integer> pair = generateSpacer(line);
-                spacers.put(pair.symbol, pair.value);
+        try {
+            TokenType token;
+
+            while ((token = lexer.next()) != TokenType.END_OF_INPUT) {
+                // every definition starts with its kind, anything else is ignored
+                if (token != TokenType.WORD) {
+                    continue;
+                }
+
+                String kind = lexer.name();
+                int line = lexer.line();
+                int column = lexer.column();
+
+                if (kind.equals(DEFAULT)) {
+                    // default properties
+                    defaultCreator = compilePrototype(readProperties(lexer), null);
+                } else if (kind.equals(BLOCK)) {
+                    // block properties
+                    Map<String, String> props = readProperties(lexer);
+                    String symbol = requireSymbol(props, line, column);
+
+                    bCreators.put(symbol, compilePrototype(props, defaultCreator));
+                } else if (kind.equals(SPACER)) {
+                    // spacer properties
+                    Map<String, String> props = readProperties(lexer);
+                    String symbol = requireSymbol(props, line, column);
+                    Integer width = Utils.tryParseInt(props.get("width"));
+
+                    if (width == null) {
+                        throw new LevelFormatException(line, column, "the spacer " + symbol + " has no width");
+                    }
+
+                    spacers.put(symbol, width);
+                }
             }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
 
         return new BlocksFromSymbolFactory(spacers, bCreators);
     }
 
     /**
-     * Generates a spacer from a given spacer line.
-     * @param line : the line
-     * @return a pair containing the symbol of the spacer and its width
+     * Read the properties up to the end of the current line.
+     * @param lexer : the lexer
+     * @return a map of name-value properties
+     * @throws IOException : if an error occurred while reading
      */
-    private static SymbolValuePair<Integer> generateSpacer(String line) {
-        Map<String, String> props = PropertyParser.parseProperties(line);
+    private static Map<String, String> readProperties(LevelLexer lexer) throws IOException {
+        Map<String, String> props = new HashMap<>();
+        TokenType token;
+
+        while ((token = lexer.next()) != TokenType.END_OF_LINE && token != TokenType.END_OF_INPUT) {
+            if (token == TokenType.PROPERTY) {
+                props.put(lexer.name(), lexer.value());
+            }
+        }
+
+        return props;
+    }
 
+    /**
+     * Get the symbol of a definition.
+     * @param props : the properties of the definition
+     * @param line : the line of the definition
+     * @param column : the column of the definition
+     * @return the symbol
+     * @throws LevelFormatException : if the definition has no symbol
+     */
+    private static String requireSymbol(Map<String, String> props, int line, int column) {
         String symbol = props.get("symbol");
-        Integer val = Integer.parseInt(props.get("width"));
 
-        return new SymbolValuePair<Integer>(symbol, val);
+        if (symbol == null || symbol.isEmpty()) {
+            throw new LevelFormatException(line, column, "a definition must have a symbol");
+        }
+
+        return symbol;
     }
 
     /**
-     * Generates a {@link BlockCreator} from a given line.
-     * @param input : the input line
-     * @param base : a base {@link BlockCreator} to use
-     * @return a new {@link BlockCreator} instance
+     * Compile block properties into a {@link BlockPrototype}, by applying them once to a template block.
+     * @param props : a map of name-value properties
+     * @param base : a base {@link BlockCreator} whose blocks the properties are applied to, or null
+     * @return the prototype
      */
-    private static SymbolValuePair<BlockCreator> generateBlockCreator(String input, BlockCreator base) {
-        // get all properties found in the input line
-        Map<String, String> props = PropertyParser.parseProperties(input);
+    private static BlockPrototype compilePrototype(Map<String, String> props, BlockCreator base) {
+        Block template = base == null ? new Block(new Point(0, 0)) : base.create(0, 0);
 
-        // get the symbol
-        String symbol = props.get("symbol");
+        for (Entry<String, String> prop : props.entrySet()) {
+            BlockProperty property = findProperty(prop.getKey());
+
+            // might have a property which is not block-related
+            if (property != null) {
+                property.apply(prop.getKey(), prop.getValue(), template);
+            }
+        }
 
-        BlockCreator creator = new PropertyDrivenBlockCreator(props, base);
+        return new BlockPrototype(template);
+    }
+
+    /**
+     * Find the block property matching a property name. Every name is matched against the properties
+     *  only the first time it is seen.
+     * @param name : the name of the property
+     * @return the property, or null if it isn't block-related
+     */
+    private static BlockProperty findProperty(String name) {
+        if (DISPATCH.containsKey(name)) {
+            return DISPATCH.get(name);
+        }
+
+        BlockProperty property = null;
+
+        for (BlockProperty bp : BLOCK_PROPERTIES) {
+            if (bp.is(name)) {
+                property = bp;
+                break;
+            }
+        }
 
-        return new SymbolValuePair<BlockCreator>(symbol, creator);
+        DISPATCH.put(name, property);
+        return property;
     }
 }
@@ -53,6 +53,31 @@ public class BlocksFromSymbolFactory {
         return this.blockCreators.get(s).create(x, y);
     }
 
+    /**
+     * Get the creator of the blocks of a given symbol.
+     * @param s : the symbol
+     * @return the creator, or null if it isn't a block symbol
+     */
+    public BlockCreator getBlockCreator(String s) {
+        return this.blockCreators.get(s);
+    }
+
+    /**
+     * Get the width of the blocks of a given symbol.
+     * @param s : the symbol
+     * @return the width
+     */
+    public int getBlockWidth(String s) {
+        BlockCreator creator = this.blockCreators.get(s);
+
+        // prototypes know their width, other creators have to create a block to find it
+        if (creator instanceof BlockPrototype) {
+            return ((BlockPrototype) creator).width();
+        }
+
+        return creator.create(0, 0).width();
+    }
+
     /**
      * Get a width of a spacer with a given symbol.
      * @param s : the symbol
@@ -25,30 +25,42 @@ public class FillProperty implements BlockProperty {
 
     @Override
     public void apply(String name, String value, Block b) {
+        b.setBackground(compile(name, value, b.getBackground()));
+    }
+
+    /**
+     * Add a fill value to a background, without changing it.
+     * Definitions sharing the same fill values should compile them once and share the result.
+     * @param name : the name of the property("fill" or "fill-N")
+     * @param value : the value of the property
+     * @param previous : the background the value is added to, might be null
+     * @return the background with the fill value, or the previous background if the value isn't good
+     */
+    public Background compile(String name, String value, Background previous) {
         Background bg = this.parser.getBackground(value);
 
         if (bg == null) {
-            return;
+            return previous;
         }
 
-        ChangingBackground wrappedPreviousBackground = new ChangingBackground(b.getBackground());
+        ChangingBackground changing = ChangingBackground.of(previous);
 
         if (name.equals("fill")) {
             // if we have fill property, we want to apply it only as a default
-            wrappedPreviousBackground.setDefaultMapping(bg);
-        } else {
-            Matcher m = FILL_PATTERN.matcher(name);
+            return changing.withDefaultMapping(bg);
+        }
 
-            if (m.find()) {
-                Integer i = Utils.tryParseInt(m.group(2));
+        Matcher m = FILL_PATTERN.matcher(name);
 
-                // we know the amount of hits(i) and we know the background(bg)
-                wrappedPreviousBackground.addMapping(i, bg);
+        if (m.find()) {
+            Integer i = Utils.tryParseInt(m.group(2));
+
+            // we know the amount of hits(i) and we know the background(bg)
+            if (i != null) {
+                return changing.withMapping(i, bg);
             }
         }
 
-        b.setBackground(wrappedPreviousBackground);
+        return previous;
     }
-
-
 }
@@ -0,0 +1,121 @@
+package project.game.levels.io.levels;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import project.game.DrawScreen;
+import project.game.levels.BlockLayout;
+import project.game.levels.LevelInformation;
+import project.game.levels.LevelStatistics;
+import project.game.objects.Sprite;
+import project.game.objects.collidables.block.Block;
+import project.game.objects.collidables.block.BlockStore;
+import project.geometry.Velocity;
+
+/**
+ * {@link CompiledLevel} is an immutable {@link LevelInformation} made from a parsed level.
+ * The blocks are kept as a {@link BlockLayout}, so playing the level again only creates new blocks.
+ * The amount of blocks to remove is counted from the blocks, the num_blocks value of the file is ignored.
+ */
+public final class CompiledLevel implements LevelInformation {
+
+    private final String levelName;
+    private final List<Velocity> initialBallVelocities;
+    private final int paddleSpeed;
+    private final int paddleWidth;
+    private final Sprite background;
+    private final BlockLayout layout;
+
+    /**
+     * Compile a parsed level.
+     * @param level : the parsed level
+     */
+    public CompiledLevel(ModifiableLevelInformation level) {
+        this(level.levelName(), level.initialBallVelocities(), level.paddleSpeed(), level.paddleWidth(),
+                level.getBackground(), level.getBlockGenerator().compile());
+    }
+
+    /**
+     * Construct a new level from its values.
+     * @param levelName : the name of the level
+     * @param initialBallVelocities : the velocities of the balls, might be null
+     * @param paddleSpeed : the speed of the paddle
+     * @param paddleWidth : the width of the paddle
+     * @param background : the background
+     * @param layout : the blocks
+     */
+    public CompiledLevel(String levelName, List<Velocity> initialBallVelocities, int paddleSpeed,
+            int paddleWidth, Sprite background, BlockLayout layout) {
+        this.levelName = levelName;
+        this.initialBallVelocities = initialBallVelocities == null ? Collections.<Velocity>emptyList()
+                : Collections.unmodifiableList(new ArrayList<>(initialBallVelocities));
+        this.paddleSpeed = paddleSpeed;
+        this.paddleWidth = paddleWidth;
+        this.background = background;
+        this.layout = layout;
+    }
+
+    @Override
+    public int numberOfBalls() {
+        return this.initialBallVelocities.size();
+    }
+
+    @Override
+    public List<Velocity> initialBallVelocities() {
+        return this.initialBallVelocities;
+    }
+
+    @Override
+    public int paddleSpeed() {
+        return this.paddleSpeed;
+    }
+
+    @Override
+    public int paddleWidth() {
+        return this.paddleWidth;
+    }
+
+    @Override
+    public String levelName() {
+        return this.levelName;
+    }
+
+    @Override
+    public Sprite getBackground() {
+        return this.background;
+    }
+
+    @Override
+    public List<Block> blocks() {
+        return this.layout.generate();
+    }
+
+    @Override
+    public BlockStore blockStore() {
+        return this.layout.toStore();
+    }
+
+    /**
+     * Get the blocks of the level.
+     * @return the layout of the blocks
+     */
+    public BlockLayout getLayout() {
+        return this.layout;
+    }
+
+    @Override
+    public int numberOfBlocksToRemove() {
+        return this.layout.statistics().removableBlocks();
+    }
+
+    @Override
+    public LevelStatistics statistics() {
+        return this.layout.statistics();
+    }
+
+    @Override
+    public void setLevelScreen(DrawScreen screen) {
+        // the blocks and the background have fixed positions, they don't depend on the screen
+    }
+}
@@ -20,6 +20,14 @@ public class FixedBackgroundSprite implements Sprite {
         this.background = background;
     }
 
+    /**
+     * Get the background.
+     * @return the background
+     */
+    public Background getBackground() {
+        return this.background;
+    }
+
     @Override
     public void drawOn(DrawSurface surface) {
         this.background.draw(new Point(0, 0), surface.getWidth(), surface.getHeight(), 0, surface);
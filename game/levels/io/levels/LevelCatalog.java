@@ -0,0 +1,164 @@
+package project.game.levels.io.levels;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import project.game.levels.LevelInformation;
+
+/**
+ * {@link LevelCatalog} is a process-wide cache of the levels read from class-path files.
+ * Every file is parsed once into {@link CompiledLevel}s, kept by its path and modification time, so
+ *  playing a level set again or restarting it doesn't read the files again. A file which was modified
+ *  since it was read is read again.
+ * A file ending with {@link LevelPack#EXTENSION} is a compiled level pack, which is opened rather than
+ *  parsed.
+ */
+public final class LevelCatalog {
+
+    /**
+     * The levels read from a file, and the modification time of the file when it was read.
+     */
+    private static class Entry {
+
+        private final long lastModified;
+        private final List<LevelInformation> levels;
+
+        /**
+         * Construct a new entry.
+         * @param lastModified : the modification time of the file
+         * @param levels : the levels
+         */
+        Entry(long lastModified, List<LevelInformation> levels) {
+            this.lastModified = lastModified;
+            this.levels = levels;
+        }
+    }
+
+    /**
+     * A stream which reports the amount of bytes read from it to a {@link LoadProgressListener}.
+     */
+    private static class ProgressInputStream extends FilterInputStream {
+
+        private final LoadProgressListener listener;
+
+        /**
+         * Construct a new stream.
+         * @param in : the stream to read from
+         * @param listener : the listener
+         */
+        ProgressInputStream(InputStream in, LoadProgressListener listener) {
+            super(in);
+            this.listener = listener;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+
+            if (b >= 0) {
+                this.listener.read(1);
+            }
+
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+
+            if (n > 0) {
+                this.listener.read(n);
+            }
+
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+
+            if (skipped > 0) {
+                this.listener.read(skipped);
+            }
+
+            return skipped;
+        }
+    }
+
+    private static final Map<String, Entry> ENTRIES = new HashMap<>();
+
+    /**
+     * This class only has static methods.
+     */
+    private LevelCatalog() { }
+
+    /**
+     * Get the levels of a class-path file, reading it only if it wasn't read or it was modified since.
+     * @param levelsPath : the class-path of the file
+     * @return an unmodifiable list of the levels
+     */
+    public static List<LevelInformation> getLevels(String levelsPath) {
+        return getLevels(levelsPath, null);
+    }
+
+    /**
+     * Get the levels of a class-path file, reading it only if it wasn't read or it was modified since.
+     * @param levelsPath : the class-path of the file
+     * @param listener : a listener notified of the bytes read from the file if it's read, might be null
+     * @return an unmodifiable list of the levels
+     */
+    public static synchronized List<LevelInformation> getLevels(String levelsPath, LoadProgressListener listener) {
+        URL url = ClassLoader.getSystemClassLoader().getResource(levelsPath);
+
+        if (url == null) {
+            throw new IllegalArgumentException("No levels file at " + levelsPath);
+        }
+
+        try {
+            URLConnection connection = url.openConnection();
+            long lastModified = connection.getLastModified();
+
+            // the connection might have opened the file to find its modification time
+            try (InputStream input = connection.getInputStream()) {
+                Entry entry = ENTRIES.get(levelsPath);
+
+                // 0 means the modification time is unknown, so the file is read every time
+                if (entry != null && lastModified != 0 && entry.lastModified == lastModified) {
+                    return entry.levels;
+                }
+
+                InputStream stream = input;
+                if (listener != null) {
+                    listener.started(connection.getContentLengthLong());
+                    stream = new ProgressInputStream(input, listener);
+                }
+
+                // a compiled pack decodes its levels only when they are asked for
+                List<LevelInformation> levels = levelsPath.endsWith(LevelPack.EXTENSION)
+                        ? LevelPack.open(url, stream)
+                        : Collections.unmodifiableList(new LevelSpecificationReader().compiledFromReader(
+                                new InputStreamReader(stream)));
+
+                ENTRIES.put(levelsPath, new Entry(lastModified, levels));
+                return levels;
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Couldn't read the levels file at " + levelsPath, e);
+        }
+    }
+
+    /**
+     * Forget all the levels read, so they are read again when asked for.
+     */
+    public static synchronized void clear() {
+        ENTRIES.clear();
+    }
+}
@@ -0,0 +1,269 @@
+package project.game.levels.io.levels;
+
+import java.awt.Color;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import project.game.levels.BlockLayout;
+import project.game.levels.LevelInformation;
+import project.game.levels.io.blocks.BlockCreator;
+import project.game.levels.io.blocks.BlockPrototype;
+import project.game.objects.Sprite;
+import project.game.objects.collidables.block.Background;
+import project.game.objects.collidables.block.Block;
+import project.game.objects.collidables.block.ChangingBackground;
+import project.game.objects.collidables.block.OneBackground;
+import project.geometry.Point;
+import project.geometry.Velocity;
+import project.misc.ImageCache;
+
+/**
+ * {@link LevelPack} is an unmodifiable list of the levels of a compiled level pack(made by the
+ *  {@link LevelPackCompiler}).
+ * Opening a pack only reads its header, a level is decoded the first time it is asked for, so a pack of
+ *  thousands of levels opens at once. Pack files are memory-mapped, images are read through the
+ *  {@link ImageCache} when the level using them is decoded.
+ *
+ * <p>The format(all numbers are big-endian):
+ * <pre>
+ * header:    int MAGIC, int VERSION, int levels, int prototypes,
+ *            int[levels] level offsets, int[prototypes] prototype offsets
+ * level:     string name, int paddle speed, int paddle width, int balls, (double dx, double dy)[balls], background,
+ *            int blocks, (unsigned short prototype, short x, short y)[blocks]
+ * prototype: int width, int height, int hits, bool has stroke, int stroke ARGB, background
+ * background: byte kind, then an int ARGB for a color, a string for an image, or a default background,
+ *            int table size and a background for every amount of hits for a changing background
+ * string:    int length, UTF-8 bytes
+ * </pre>
+ */
+public final class LevelPack extends AbstractList<LevelInformation> {
+
+    public static final String EXTENSION = ".lvlpack";
+
+    static final int MAGIC = 0x41524B50;
+    static final int VERSION = 2;
+
+    // the kinds of backgrounds
+    static final byte NO_BACKGROUND = 0;
+    static final byte EMPTY_BACKGROUND = 1;
+    static final byte COLOR_BACKGROUND = 2;
+    static final byte IMAGE_BACKGROUND = 3;
+    static final byte CHANGING_BACKGROUND = 4;
+
+    private final ByteBuffer data;
+    private final int[] levelOffsets;
+    private final int[] prototypeOffsets;
+
+    // decoded on first use
+    private final LevelInformation[] levels;
+    private final BlockPrototype[] prototypes;
+
+    /**
+     * Construct a new pack from its bytes, reading its header.
+     * @param data : the bytes of the pack, which must not be modified
+     */
+    public LevelPack(ByteBuffer data) {
+        this.data = data.duplicate();
+
+        if (this.data.remaining() < 16 || this.data.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a level pack");
+        }
+
+        if (this.data.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported level pack version " + this.data.getInt(4));
+        }
+
+        ByteBuffer in = this.data.duplicate();
+        in.position(8);
+
+        this.levelOffsets = new int[in.getInt()];
+        this.prototypeOffsets = new int[in.getInt()];
+
+        in.asIntBuffer().get(this.levelOffsets);
+        in.position(in.position() + this.levelOffsets.length * 4);
+        in.asIntBuffer().get(this.prototypeOffsets);
+
+        this.levels = new LevelInformation[this.levelOffsets.length];
+        this.prototypes = new BlockPrototype[this.prototypeOffsets.length];
+    }
+
+    /**
+     * Open a pack file, memory-mapping it.
+     * @param path : the path of the file
+     * @return the pack
+     * @throws IOException : if the file couldn't be read
+     */
+    public static LevelPack open(Path path) throws IOException {
+        // the mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new LevelPack(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Open a pack from a URL. A file is memory-mapped, anything else(such as a jar entry) is read
+     *  from the stream.
+     * @param url : the URL of the pack
+     * @param stream : a stream of the contents of the URL
+     * @return the pack
+     * @throws IOException : if the pack couldn't be read
+     */
+    public static LevelPack open(URL url, InputStream stream) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return open(Paths.get(url.toURI()));
+            } catch (URISyntaxException e) {
+                // read it from the stream
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+
+        for (int n = stream.read(buffer); n >= 0; n = stream.read(buffer)) {
+            bytes.write(buffer, 0, n);
+        }
+
+        return new LevelPack(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    @Override
+    public synchronized LevelInformation get(int index) {
+        if (this.levels[index] == null) {
+            this.levels[index] = readLevel(at(this.levelOffsets[index]));
+        }
+
+        return this.levels[index];
+    }
+
+    @Override
+    public int size() {
+        return this.levels.length;
+    }
+
+    /**
+     * Get a view of the pack starting at an offset.
+     * @param offset : the offset
+     * @return the view, which has its own position
+     */
+    private ByteBuffer at(int offset) {
+        ByteBuffer in = this.data.duplicate();
+        in.position(offset);
+        return in;
+    }
+
+    /**
+     * Decode a level.
+     * @param in : the pack, at the level
+     * @return the level
+     */
+    private LevelInformation readLevel(ByteBuffer in) {
+        String name = readString(in);
+        int paddleSpeed = in.getInt();
+        int paddleWidth = in.getInt();
+
+        List<Velocity> velocities = new ArrayList<>();
+        for (int i = in.getInt(); i > 0; i--) {
+            velocities.add(new Velocity(in.getDouble(), in.getDouble()));
+        }
+
+        Background background = readBackground(in);
+        Sprite backgroundSprite = background == null ? null : new FixedBackgroundSprite(background);
+
+        int amount = in.getInt();
+        BlockCreator[] creators = new BlockCreator[amount];
+        int[] xs = new int[amount];
+        int[] ys = new int[amount];
+
+        for (int i = 0; i < amount; i++) {
+            creators[i] = getPrototype(in.getChar());
+            xs[i] = in.getShort();
+            ys[i] = in.getShort();
+        }
+
+        return new CompiledLevel(name, velocities, paddleSpeed, paddleWidth, backgroundSprite,
+                new BlockLayout(creators, xs, ys));
+    }
+
+    /**
+     * Get a block prototype, decoding it if it wasn't decoded. The levels of a pack share its prototypes.
+     * @param index : the index of the prototype
+     * @return the prototype
+     */
+    private BlockPrototype getPrototype(int index) {
+        if (this.prototypes[index] == null) {
+            ByteBuffer in = at(this.prototypeOffsets[index]);
+
+            Block template = new Block(new Point(0, 0), in.getInt(), in.getInt());
+            template.setHits(in.getInt());
+
+            boolean hasStroke = in.get() != 0;
+            int stroke = in.getInt();
+            template.setStroke(hasStroke ? new Color(stroke, true) : null);
+
+            template.setBackground(readBackground(in));
+
+            this.prototypes[index] = new BlockPrototype(template);
+        }
+
+        return this.prototypes[index];
+    }
+
+    /**
+     * Decode a background.
+     * @param in : the pack, at the background
+     * @return the background, might be null
+     */
+    private Background readBackground(ByteBuffer in) {
+        byte kind = in.get();
+
+        switch (kind) {
+        case NO_BACKGROUND:
+            return null;
+        case EMPTY_BACKGROUND:
+            return new OneBackground((Color) null);
+        case COLOR_BACKGROUND:
+            return new OneBackground(new Color(in.getInt(), true));
+        case IMAGE_BACKGROUND:
+            String path = readString(in);
+            return new OneBackground(path, ImageCache.getImage(path));
+        case CHANGING_BACKGROUND:
+            ChangingBackground bg = ChangingBackground.of(null).withDefaultMapping(readBackground(in));
+
+            for (int hits = 0, size = in.getInt(); hits < size; hits++) {
+                Background mapped = readBackground(in);
+
+                if (mapped != null) {
+                    bg = bg.withMapping(hits, mapped);
+                }
+            }
+
+            return bg;
+        default:
+            throw new IllegalArgumentException("Unknown background kind " + kind + " at " + (in.position() - 1));
+        }
+    }
+
+    /**
+     * Decode a string.
+     * @param in : the pack, at the string
+     * @return the string
+     */
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
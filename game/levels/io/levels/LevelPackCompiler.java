@@ -0,0 +1,284 @@
+package project.game.levels.io.levels;
+
+import java.awt.Color;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import project.game.levels.BlockLayout;
+import project.game.levels.LevelInformation;
+import project.game.levels.io.blocks.BlockCreator;
+import project.game.levels.io.blocks.BlockPrototype;
+import project.game.objects.Sprite;
+import project.game.objects.collidables.block.Background;
+import project.game.objects.collidables.block.ChangingBackground;
+import project.game.objects.collidables.block.OneBackground;
+import project.geometry.Velocity;
+
+/**
+ * {@link LevelPackCompiler} compiles levels into a level pack, which is loaded by {@link LevelPack}
+ *  without parsing.
+ * The block definitions used by the levels are written once for the whole pack, images are written as
+ *  their class-paths.
+ */
+public class LevelPackCompiler {
+
+    // the index of a prototype is written as an unsigned short
+    private static final int MAX_PROTOTYPES = 0xFFFF;
+
+    // the levels and the prototypes, encoded
+    private final List<byte[]> levels = new ArrayList<>();
+    private final List<byte[]> prototypes = new ArrayList<>();
+
+    // the index of every prototype already encoded
+    private final Map<BlockPrototype, Integer> prototypeIndices = new IdentityHashMap<>();
+
+    /**
+     * Compile a levels file into a pack file.
+     * @param args : the class-path of the levels file, and the path of the pack file to write
+     * @throws IOException : if the pack file couldn't be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: LevelPackCompiler <levels file class-path> <pack file>");
+            return;
+        }
+
+        List<LevelInformation> levels = LevelCatalog.getLevels(args[0]);
+        compile(levels, Paths.get(args[1]));
+
+        System.out.println("compiled " + levels.size() + " levels into " + args[1]);
+    }
+
+    /**
+     * Compile a list of levels into a pack file.
+     * @param levels : the levels, which must have been read from a levels file
+     * @param target : the path of the pack file
+     * @throws IOException : if the pack file couldn't be written
+     */
+    public static void compile(List<LevelInformation> levels, Path target) throws IOException {
+        LevelPackCompiler compiler = new LevelPackCompiler();
+
+        for (LevelInformation level : levels) {
+            compiler.add(level);
+        }
+
+        try (OutputStream out = Files.newOutputStream(target)) {
+            compiler.writeTo(out);
+        }
+    }
+
+    /**
+     * Add a level to the pack.
+     * @param level : the level, which must have been read from a levels file
+     * @throws IOException : never, the level is encoded in memory
+     */
+    public void add(LevelInformation level) throws IOException {
+        if (!(level instanceof CompiledLevel)) {
+            throw new IllegalArgumentException("Only levels read from a levels file can be compiled: "
+                    + level.levelName());
+        }
+
+        CompiledLevel compiled = (CompiledLevel) level;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        writeString(out, compiled.levelName());
+        out.writeInt(compiled.paddleSpeed());
+        out.writeInt(compiled.paddleWidth());
+
+        out.writeInt(compiled.initialBallVelocities().size());
+        for (Velocity v : compiled.initialBallVelocities()) {
+            out.writeDouble(v.getVx());
+            out.writeDouble(v.getVy());
+        }
+
+        writeBackground(out, backgroundOf(compiled.getBackground()));
+
+        BlockLayout layout = compiled.getLayout();
+        out.writeInt(layout.amount());
+
+        for (int i = 0; i < layout.amount(); i++) {
+            out.writeShort(indexOf(layout.getCreator(i)));
+            out.writeShort(toShort(layout.getX(i)));
+            out.writeShort(toShort(layout.getY(i)));
+        }
+
+        out.flush();
+        this.levels.add(bytes.toByteArray());
+    }
+
+    /**
+     * Write the pack.
+     * @param stream : the stream to write to, which is not closed
+     * @throws IOException : if an error occurred while writing
+     */
+    public void writeTo(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+
+        out.writeInt(LevelPack.MAGIC);
+        out.writeInt(LevelPack.VERSION);
+        out.writeInt(this.levels.size());
+        out.writeInt(this.prototypes.size());
+
+        // the records start after the offset tables
+        int offset = 16 + (this.levels.size() + this.prototypes.size()) * 4;
+
+        for (byte[] level : this.levels) {
+            out.writeInt(offset);
+            offset += level.length;
+        }
+
+        for (byte[] prototype : this.prototypes) {
+            out.writeInt(offset);
+            offset += prototype.length;
+        }
+
+        for (byte[] level : this.levels) {
+            out.write(level);
+        }
+
+        for (byte[] prototype : this.prototypes) {
+            out.write(prototype);
+        }
+
+        out.flush();
+    }
+
+    /**
+     * Get the index of a prototype in the pack, encoding it if it wasn't encoded.
+     * @param creator : the creator of blocks, which must be a prototype
+     * @return the index
+     * @throws IOException : never, the prototype is encoded in memory
+     */
+    private int indexOf(BlockCreator creator) throws IOException {
+        if (!(creator instanceof BlockPrototype)) {
+            throw new IllegalArgumentException("Only blocks read from a block definitions file can be compiled");
+        }
+
+        BlockPrototype prototype = (BlockPrototype) creator;
+        Integer index = this.prototypeIndices.get(prototype);
+
+        if (index != null) {
+            return index;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(prototype.width());
+        out.writeInt(prototype.height());
+        out.writeInt(prototype.hits());
+
+        Color stroke = prototype.stroke();
+        out.writeBoolean(stroke != null);
+        out.writeInt(stroke == null ? 0 : stroke.getRGB());
+
+        writeBackground(out, prototype.background());
+
+        out.flush();
+
+        index = this.prototypes.size();
+
+        if (index > MAX_PROTOTYPES) {
+            throw new IllegalArgumentException("A level pack can't have more than " + MAX_PROTOTYPES
+                    + " block definitions");
+        }
+        this.prototypes.add(bytes.toByteArray());
+        this.prototypeIndices.put(prototype, index);
+
+        return index;
+    }
+
+    /**
+     * Check that a block position fits in the 2 bytes it is written as.
+     * @param position : the position
+     * @return the position
+     */
+    private static int toShort(int position) {
+        if (position < Short.MIN_VALUE || position > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("The block position " + position + " is out of range");
+        }
+
+        return position;
+    }
+
+    /**
+     * Get the background of a level background sprite.
+     * @param sprite : the sprite, might be null
+     * @return the background, or null if there's none
+     */
+    private static Background backgroundOf(Sprite sprite) {
+        if (sprite == null) {
+            return null;
+        }
+
+        if (!(sprite instanceof FixedBackgroundSprite)) {
+            throw new IllegalArgumentException("Only backgrounds read from a levels file can be compiled");
+        }
+
+        return ((FixedBackgroundSprite) sprite).getBackground();
+    }
+
+    /**
+     * Encode a background.
+     * @param out : the stream to write to
+     * @param bg : the background, might be null
+     * @throws IOException : if an error occurred while writing
+     */
+    private static void writeBackground(DataOutputStream out, Background bg) throws IOException {
+        if (bg == null) {
+            out.writeByte(LevelPack.NO_BACKGROUND);
+
+        } else if (bg instanceof ChangingBackground) {
+            ChangingBackground changing = (ChangingBackground) bg;
+            Background[] mappings = changing.getMappings();
+
+            out.writeByte(LevelPack.CHANGING_BACKGROUND);
+            writeBackground(out, changing.getDefaultBackground());
+
+            out.writeInt(mappings.length);
+            for (Background mapped : mappings) {
+                writeBackground(out, mapped);
+            }
+
+        } else if (bg instanceof OneBackground && ((OneBackground) bg).getColor() != null) {
+            out.writeByte(LevelPack.COLOR_BACKGROUND);
+            out.writeInt(((OneBackground) bg).getColor().getRGB());
+
+        } else if (bg instanceof OneBackground && ((OneBackground) bg).getImagePath() != null) {
+            out.writeByte(LevelPack.IMAGE_BACKGROUND);
+            writeString(out, ((OneBackground) bg).getImagePath());
+
+        } else if (bg instanceof OneBackground && ((OneBackground) bg).getImage() == null) {
+            // an image which couldn't be read
+            out.writeByte(LevelPack.EMPTY_BACKGROUND);
+
+        } else {
+            throw new IllegalArgumentException("Only backgrounds read from a file can be compiled: " + bg);
+        }
+    }
+
+    /**
+     * Encode a string.
+     * @param out : the stream to write to
+     * @param str : the string
+     * @throws IOException : if an error occurred while writing
+     */
+    private static void writeString(DataOutputStream out, String str) throws IOException {
+        byte[] bytes = (str == null ? "" : str).getBytes(StandardCharsets.UTF_8);
+
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
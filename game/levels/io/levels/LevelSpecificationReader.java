@@ -1,15 +1,16 @@
 package project.game.levels.io.levels;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import project.game.levels.LevelInformation;
-import project.game.levels.io.BoundedReader;
-import project.game.levels.io.PropertyParser;
+import project.game.levels.io.LevelFormatException;
+import project.game.levels.io.LevelLexer;
+import project.game.levels.io.LevelLexer.TokenType;
 import project.game.levels.io.levels.properties.BackgroundProperty;
 import project.game.levels.io.levels.properties.BallVelocitiesProperty;
 import project.game.levels.io.levels.properties.BlockDefinitionsProperty;
@@ -20,7 +21,6 @@ import project.game.levels.io.levels.properties.NumBlocksProperty;
 import project.game.levels.io.levels.properties.PaddleSpeedProperty;
 import project.game.levels.io.levels.properties.PaddleWidthProperty;
 import project.game.levels.io.levels.properties.RowHeightProperty;
-import project.misc.Utils;
 
 /**
  * {@link LevelSpecificationReader} reads levels from given input.
@@ -45,65 +45,144 @@ public class LevelSpecificationReader {
      * @return a list of {@link LevelInformation} instances
      */
     public List<LevelInformation> fromReader(Reader reader) {
+        return new ArrayList<LevelInformation>(parseLevels(reader));
+    }
+
+    /**
+     * Read levels from a reader according to the specification, and compile them.
+     * @param reader : the reader to read from
+     * @return a list of {@link CompiledLevel} instances
+     */
+    public List<LevelInformation> compiledFromReader(Reader reader) {
         List<LevelInformation> levels = new ArrayList<>();
 
-        // use buffered reader because it is better
-        BufferedReader br = new BufferedReader(reader);
+        for (ModifiableLevelInformation level : parseLevels(reader)) {
+            levels.add(new CompiledLevel(level));
+        }
 
-        try {
-            while (!Utils.isEOF(br)) {
-                // add level
-                levels.add(parseLevel(br));
-            }
+        return levels;
+    }
+
+    private static final String LEVEL_START = "START_LEVEL";
+    private static final String LEVEL_END = "END_LEVEL";
+    private static final String BLOCKS_START = "START_BLOCKS";
+    private static final String BLOCKS_END = "END_BLOCKS";
 
+    // the level property of every property name seen, null for names which aren't level properties
+    private final Map<String, LevelProperty> dispatch = new HashMap<>();
 
+    /**
+     * Read levels from a reader according to the specification.
+     * Anything outside of the level sections is ignored. The markers of the sections must be alone on their
+     *  lines, only whitespace around them is allowed.
+     * @param reader : the reader to read from
+     * @return a list of the parsed levels
+     * @throws LevelFormatException : if the input isn't in the format
+     */
+    private List<ModifiableLevelInformation> parseLevels(Reader reader) {
+        List<ModifiableLevelInformation> levels = new ArrayList<>();
+        LevelLexer lexer = new LevelLexer(reader);
+
+        try {
+            TokenType token;
+
+            while ((token = lexer.next()) != TokenType.END_OF_INPUT) {
+                if (token == TokenType.WORD && lexer.isWholeLine() && lexer.name().equals(LEVEL_START)) {
+                    // add level
+                    levels.add(parseLevel(lexer));
+                }
+            }
         } catch (IOException e) {
             e.printStackTrace();
         }
 
-
         return levels;
     }
 
     /**
-     * Parse {@link LevelInformation} from a given {@link BufferedReader}.
-     * @param br : the reader
+     * Parse {@link LevelInformation} from a given lexer, positioned after the start of the level.
+     * @param lexer : the lexer
      * @return a level information instance
      * @throws IOException : if an error occurred
      */
-    private LevelInformation parseLevel(BufferedReader br) throws IOException {
-        /* create bounded readers */
-        BoundedReader levelReader = new BoundedReader("START_LEVEL", "END_LEVEL");
-        BoundedReader blocksReader = new BoundedReader("START_BLOCKS", "END_BLOCKS");
-
+    private ModifiableLevelInformation parseLevel(LevelLexer lexer) throws IOException {
         // generate level information which can be modified
         ModifiableLevelInformation mli = new ModifiableLevelInformation();
 
-        String line;
+        while (true) {
+            switch (lexer.next()) {
+            case PROPERTY:
+                // try applying the matching property
+                LevelProperty lp = findProperty(lexer.name());
 
-        /* read all the lines in the file */
-        while ((line = levelReader.readLine(br)) != null) {
-            // parse property from line
-            Map<String, String> properties = PropertyParser.parseProperties(line);
-
-            // try applying matching properties
-            for (String propName : properties.keySet()) {
-                for (LevelProperty lp : LEVEL_PROPERTIES) {
-                    if (lp.is(propName)) {
-                        lp.apply(propName, properties.get(propName), mli);
-                    }
+                if (lp != null) {
+                    lp.apply(lexer.name(), lexer.value(), mli);
+                }
+                break;
+
+            case WORD:
+                if (!lexer.isWholeLine()) {
+                    // a word next to others isn't a marker
+                    break;
+                } else if (lexer.name().equals(BLOCKS_START)) {
+                    // read blocks information
+                    mli.getBlockGenerator().setLines(readBlockLines(lexer));
+                } else if (lexer.name().equals(LEVEL_END)) {
+                    return mli;
                 }
+                break;
+
+            case END_OF_INPUT:
+                throw lexer.error(LEVEL_END + " expected before the end of the input");
+
+            default:
+                break;
             }
+        }
+    }
+
+    /**
+     * Read the lines of the blocks, up to the end of the blocks section.
+     * @param lexer : the lexer, positioned at the start of the blocks section
+     * @return the lines
+     * @throws IOException : if an error occurred
+     */
+    private List<String> readBlockLines(LevelLexer lexer) throws IOException {
+        List<String> lines = new ArrayList<>();
+        String line;
+
+        while ((line = lexer.readRawLine()) != null) {
+            if (line.trim().equals(BLOCKS_END)) {
+                return lines;
+            }
+
+            lines.add(line);
+        }
+
+        throw lexer.error(BLOCKS_END + " expected before the end of the input");
+    }
+
+    /**
+     * Find the level property of a property name. Every name is matched against the properties only
+     *  the first time it is seen.
+     * @param name : the name of the property
+     * @return the level property, or null if it isn't a level property
+     */
+    private LevelProperty findProperty(String name) {
+        if (this.dispatch.containsKey(name)) {
+            return this.dispatch.get(name);
+        }
 
-            // read blocks information
-            if (blocksReader.isFirstLine(line)) {
-                blocksReader.setReadFirstLine(true);
+        LevelProperty property = null;
 
-                List<String> lns = blocksReader.readLines(br);
-                mli.getBlockGenerator().setLines(lns);
+        for (LevelProperty lp : LEVEL_PROPERTIES) {
+            if (lp.is(name)) {
+                property = lp;
+                break;
             }
         }
 
-        return mli;
+        this.dispatch.put(name, property);
+        return property;
     }
 }
@@ -0,0 +1,20 @@
+package project.game.levels.io.levels;
+
+/**
+ * {@link LoadProgressListener} is a listener for the progress of reading a levels file.
+ * It's notified on the thread reading the file.
+ */
+public interface LoadProgressListener {
+
+    /**
+     * Notify this object that reading a file started.
+     * @param totalBytes : the size of the file, or -1 if it's unknown
+     */
+    void started(long totalBytes);
+
+    /**
+     * Notify this object that more of the file was read.
+     * @param bytes : the amount of bytes read since the last notification
+     */
+    void read(long bytes);
+}
@@ -5,8 +5,10 @@ import java.util.List;
 import project.game.DrawScreen;
 import project.game.levels.LevelBlockGenerator;
 import project.game.levels.LevelInformation;
+import project.game.levels.LevelStatistics;
 import project.game.objects.Sprite;
 import project.game.objects.collidables.block.Block;
+import project.game.objects.collidables.block.BlockStore;
 import project.geometry.Velocity;
 
 /**
@@ -100,6 +102,11 @@ public class ModifiableLevelInformation implements LevelInformation {
         return this.blockGenerator.generate();
     }
 
+    @Override
+    public BlockStore blockStore() {
+        return this.blockGenerator.compile().toStore();
+    }
+
     /**
      * Get the current block generator for this level.
      * @return the block generator
@@ -108,11 +115,21 @@ public class ModifiableLevelInformation implements LevelInformation {
         return this.blockGenerator;
     }
 
+    /**
+     * Get the amount of blocks to remove declared by the level file. The blocks themselves are counted
+     *  by {@link #statistics()}, which is what compiled levels use.
+     * @return the declared amount
+     */
     @Override
     public int numberOfBlocksToRemove() {
         return this.blocksToRemove;
     }
 
+    @Override
+    public LevelStatistics statistics() {
+        return this.blockGenerator.compile().statistics();
+    }
+
     /**
      * Set the amount of the blocks to remove.
      * @param amount : the amount
@@ -123,7 +140,7 @@ public class ModifiableLevelInformation implements LevelInformation {
 
     @Override
     public void setLevelScreen(DrawScreen screen) {
-
+        // the blocks and the background have fixed positions, they don't depend on the screen
     }
 
 }
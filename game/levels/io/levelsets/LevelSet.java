@@ -3,36 +3,137 @@ package project.game.levels.io.levelsets;
 import java.io.IOException;
 import java.io.LineNumberReader;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import project.game.levels.LevelInformation;
-import project.game.levels.io.levels.LevelSpecificationReader;
-import project.misc.Utils;
+import project.game.levels.io.levels.LevelCatalog;
+import project.game.levels.io.levels.LoadProgressListener;
 
 /**
  * {@link LevelSet} is a set of levels.
+ * A set only knows the path of its levels file until the levels are asked for, or loaded in the
+ *  background, so listing many sets costs nothing.
  */
 public class LevelSet {
 
-    private LevelSpecificationReader lsr = new LevelSpecificationReader();
+    // the sets are loaded one by one on a single background thread, which doesn't keep the program alive
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "level-set-loader");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
 
     private String desc;
     private String key;
-    private List<LevelInformation> lvls;
+    private String levelsPath;
+
+    // the loading of the levels, null if it hasn't started
+    private Future<List<LevelInformation>> loading;
+
+    // the progress of reading the levels file, written by the loading thread only
+    private volatile long loadedBytes;
+    private volatile long totalBytes = -1;
 
     /**
-     * Set the levels file for this set.
-     * @param levels : the levels
+     * Set the levels file for this set. The file isn't read until the levels are needed.
+     * @param levels : the class-path of the levels file
      */
-    public void setLevelsFile(String levels) {
-        this.lvls = this.lsr.fromReader(Utils.getResourceReader(levels));
+    public synchronized void setLevelsFile(String levels) {
+        this.levelsPath = levels;
+        this.loading = null;
+    }
+
+    /**
+     * Start loading the levels in the background, if they aren't loaded or being loaded already.
+     */
+    public synchronized void loadInBackground() {
+        if (this.loading != null) {
+            return;
+        }
+
+        final String path = this.levelsPath;
+
+        this.loadedBytes = 0;
+        this.totalBytes = -1;
+
+        this.loading = LOADER.submit(new Callable<List<LevelInformation>>() {
+
+            @Override
+            public List<LevelInformation> call() {
+                return LevelCatalog.getLevels(path, new LoadProgressListener() {
+
+                    @Override
+                    public void started(long total) {
+                        LevelSet.this.totalBytes = total;
+                    }
+
+                    @Override
+                    public void read(long bytes) {
+                        LevelSet.this.loadedBytes += bytes;
+                    }
+                });
+            }
+        });
     }
 
     /**
-     * Get the levels.
+     * Get the amount of bytes of the levels file read so far by the loading.
+     * @return the amount, 0 if the loading didn't start reading the file
+     */
+    public long getLoadedBytes() {
+        return this.loadedBytes;
+    }
+
+    /**
+     * Get the size of the levels file being loaded.
+     * @return the size, or -1 if it's unknown(or the file isn't read, since its levels were read before)
+     */
+    public long getTotalBytes() {
+        return this.totalBytes;
+    }
+
+    /**
+     * Query whether the levels are loaded(or failed loading), so getting them won't wait.
+     * @return true if they are. false otherwise.
+     */
+    public synchronized boolean isLoaded() {
+        return this.loading != null && this.loading.isDone();
+    }
+
+    /**
+     * Get the levels, waiting for them to load if they aren't loaded yet.
      * @return the levels
      */
     public List<LevelInformation> getLevels() {
-        return this.lvls;
+        Future<List<LevelInformation>> levels;
+
+        synchronized (this) {
+            loadInBackground();
+            levels = this.loading;
+        }
+
+        try {
+            return levels.get();
+        } catch (ExecutionException e) {
+            // the levels file couldn't be read
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading " + this.levelsPath, e);
+        }
     }
 
     /**
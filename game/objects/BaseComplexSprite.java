@@ -46,8 +46,10 @@ public abstract class BaseComplexSprite extends BaseGameObject implements Comple
         /* made this way to keep consistency with 'drawOn' */
         timePassThis();
 
-        for (Sprite sprite : getSubSprites()) {
-            sprite.timePassed(dt);
+        // by index, this is called every frame
+        List<Sprite> subSprites = getSubSprites();
+        for (int i = 0; i < subSprites.size(); i++) {
+            subSprites.get(i).timePassed(dt);
         }
     }
 
@@ -3,14 +3,22 @@ package project.game.objects;
 import java.awt.Color;
 
 import biuoop.DrawSurface;
+import project.game.DamageList;
 import project.game.GameLevel;
 import project.geometry.Point;
+import project.geometry.Rectangle;
 import project.misc.DrawUtils;
 
 /**
  * {@link BaseLabel} is a class that takes care of creating labels.
  */
-public abstract class BaseLabel extends BaseGameObject implements Sprite {
+public abstract class BaseLabel extends BaseGameObject implements DirtyRegionSprite {
+
+    private static final int FONT_SIZE = 18;
+
+    // the hues the color of a label cycles through, one every frame
+    private static final int HUE_STEPS = 20;
+    private static final Color[] HUES = hues();
 
     private TopBar topBar;
 
@@ -41,26 +49,60 @@ public abstract class BaseLabel extends BaseGameObject implements Sprite {
 
     private Color color = Color.WHITE;
 
-    private float hue;
+    private int hueStep;
+
+    // whether the color or the text changed since the last damage report
+    private boolean changed;
+    private final DamageTracker damageTracker = new DamageTracker();
 
     @Override
     public void drawOn(DrawSurface surface) {
         // init draw utils
         DrawUtils draw = new DrawUtils(surface);
 
-        // get font size and text position
-        int fontSize = 18;
-        Point textPos = getPosition().asVector().add(0, fontSize).asPoint();
+        // get text position
+        Point textPos = getPosition().asVector().add(0, FONT_SIZE).asPoint();
 
         // draw the text
-        draw.drawText(textPos, getText(), fontSize, this.color);
+        draw.drawText(textPos, getText(), FONT_SIZE, this.color);
     }
 
     @Override
     public void timePassed(double dt) {
-        hue += 0.05;
+        this.hueStep = (this.hueStep + 1) % HUE_STEPS;
+
+        color = HUES[this.hueStep];
+        this.changed = true;
+    }
+
+    /**
+     * Create the colors of all the hues a label cycles through.
+     * @return the colors, ordered by hue
+     */
+    private static Color[] hues() {
+        Color[] colors = new Color[HUE_STEPS];
+
+        for (int i = 0; i < colors.length; i++) {
+            colors[i] = Color.getHSBColor((float) i / HUE_STEPS, 1, 1);
+        }
 
-        color = Color.getHSBColor(hue, 1, 1);
+        return colors;
+    }
+
+    /**
+     * Get the area the text of this label is drawn in.
+     * No character is wider than the font size, and the descent is less than half of it.
+     * @return the bounds of the text
+     */
+    @Override
+    public Rectangle getDrawBounds() {
+        return new Rectangle(getPosition(), getText().length() * FONT_SIZE, FONT_SIZE + FONT_SIZE / 2);
+    }
+
+    @Override
+    public void reportDamage(DamageList damage) {
+        this.damageTracker.report(damage, getDrawBounds(), this.changed);
+        this.changed = false;
     }
 
 }
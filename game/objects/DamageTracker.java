@@ -0,0 +1,46 @@
+package project.game.objects;
+
+import project.game.DamageList;
+import project.geometry.Rectangle;
+
+/**
+ * {@link DamageTracker} remembers the bounds a {@link DirtyRegionSprite} reported last, so the sprite
+ *  reports the area it leaves together with the area it moves to.
+ */
+public class DamageTracker {
+
+    private Rectangle reported;
+
+    /**
+     * Report the damage of a sprite, if it changed or moved since the last report.
+     * @param damage : the damage list
+     * @param bounds : the bounds the sprite is drawn in now
+     * @param changed : whether the look of the sprite changed since the last report
+     */
+    public void report(DamageList damage, Rectangle bounds, boolean changed) {
+        if (!changed && this.reported != null && sameBounds(this.reported, bounds)) {
+            return;
+        }
+
+        if (this.reported != null) {
+            damage.add(this.reported);
+        }
+
+        damage.add(bounds);
+        this.reported = bounds;
+    }
+
+    /**
+     * Query whether two bounds cover the same area.
+     * @param a : the first bounds
+     * @param b : the second bounds
+     * @return true if they do. false otherwise.
+     */
+    private static boolean sameBounds(Rectangle a, Rectangle b) {
+        return b != null
+                && a.getLeft() == b.getLeft()
+                && a.getTop() == b.getTop()
+                && a.getWidth() == b.getWidth()
+                && a.getHeight() == b.getHeight();
+    }
+}
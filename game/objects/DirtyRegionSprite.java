@@ -0,0 +1,24 @@
+package project.game.objects;
+
+import project.game.DamageList;
+import project.geometry.Rectangle;
+
+/**
+ * A sprite which reports the areas of the screen it changes, so that only those have to be drawn again.
+ * Sprites which don't implement it are assumed to change the whole screen every frame.
+ */
+public interface DirtyRegionSprite extends Sprite {
+
+    /**
+     * Get the area this sprite is drawn in now(including anywhere it's drawn between its time steps).
+     * @return a rectangle, or null if it might draw anywhere
+     */
+    Rectangle getDrawBounds();
+
+    /**
+     * Add the areas this sprite changed since its last report to a damage list: the bounds it was drawn
+     *  in before and the bounds it's drawn in now. Nothing is added if it looks the same as before.
+     * @param damage : the damage list
+     */
+    void reportDamage(DamageList damage);
+}
@@ -0,0 +1,18 @@
+package project.game.objects;
+
+import biuoop.DrawSurface;
+
+/**
+ * A sprite which can be drawn between two of its time steps.
+ * It remembers where it was before the last step, so that the renderer can draw it part of the way
+ *  from there to its current position, when frames are drawn more often than steps are taken.
+ */
+public interface InterpolatedSprite extends Sprite {
+
+    /**
+     * Draw this sprite between its previous and current positions.
+     * @param surface : the given surface
+     * @param alpha : the fraction of the way from the previous position(0) to the current one(1)
+     */
+    void drawOn(DrawSurface surface, double alpha);
+}
@@ -0,0 +1,8 @@
+package project.game.objects;
+
+/**
+ * A sprite which looks the same in every frame until it is hit or removed.
+ * Such sprites can be drawn once into a cached layer, and redrawn only when they change.
+ */
+public interface StaticSprite extends DirtyRegionSprite {
+}
@@ -3,16 +3,18 @@ package project.game.objects;
 import java.awt.Color;
 
 import biuoop.DrawSurface;
+import project.game.DamageList;
 import project.game.GameLevel;
 import project.geometry.EqualSegmentDivision;
 import project.geometry.Point;
+import project.geometry.Rectangle;
 import project.geometry.Segment;
 import project.misc.DrawUtils;
 
 /**
  * {@link TopBar} is a {@link Sprite} which represents the top bar of the game.
  */
-public class TopBar extends BaseComplexSprite {
+public class TopBar extends BaseComplexSprite implements DirtyRegionSprite {
 
     private final Point position;
     private int width;
@@ -25,6 +27,10 @@ public class TopBar extends BaseComplexSprite {
     private Segment barWidth;
     private Segment barContentSegment;
 
+    // whether the labels were moved since the last damage report
+    private boolean changed;
+    private final DamageTracker damageTracker = new DamageTracker();
+
     /**
      * Construct a topbar with a given color.
      * @param color : the background color of the bar
@@ -69,6 +75,7 @@ public class TopBar extends BaseComplexSprite {
         // init the bar width segment
         this.barWidth = new Segment(0, game.width());
         this.barContentSegment = this.barWidth.subSegmentSpacedEquallyFromEdges(this.getSpacing());
+        this.changed = true;
     }
 
     /**
@@ -77,6 +84,15 @@ public class TopBar extends BaseComplexSprite {
      */
     public void addLabel(Sprite sprite) {
         super.addSprite(sprite);
+
+        // the bar is divided between the labels, so all of them move
+        this.changed = true;
+    }
+
+    @Override
+    protected void removeSprite(Sprite sprite) {
+        super.removeSprite(sprite);
+        this.changed = true;
     }
 
     /**
@@ -118,4 +134,24 @@ public class TopBar extends BaseComplexSprite {
     protected void timePassThis() {
     }
 
+    @Override
+    public Rectangle getDrawBounds() {
+        return new Rectangle(this.position, this.width, this.height);
+    }
+
+    @Override
+    public void reportDamage(DamageList damage) {
+        this.damageTracker.report(damage, getDrawBounds(), this.changed);
+        this.changed = false;
+
+        // the labels report their own changes
+        for (Sprite sprite : getSubSprites()) {
+            if (sprite instanceof DirtyRegionSprite) {
+                ((DirtyRegionSprite) sprite).reportDamage(damage);
+            } else {
+                damage.add(getDrawBounds());
+            }
+        }
+    }
+
 }
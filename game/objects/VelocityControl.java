@@ -10,7 +10,7 @@ import project.geometry.Velocity;
  */
 public class VelocityControl {
 
-    private Velocity velocity;
+    private final Velocity velocity;
 
     /**
      * Construct a velocity control for non-moving objects.
@@ -24,15 +24,25 @@ public class VelocityControl {
      * @param initial : the initial velocity per second
      */
     public VelocityControl(Velocity initial) {
-        this.velocity = initial;
+        this.velocity = new Velocity(initial.getVx(), initial.getVy());
     }
 
     /**
      * Set the velocity.
+     * The given velocity is copied, so it can be shared by others(e.g. the level information).
      * @param v : the new velocity
      */
     public void setVelocity(Velocity v) {
-        this.velocity = v;
+        setVelocity(v.getVx(), v.getVy());
+    }
+
+    /**
+     * Set the velocity without creating a new velocity instance.
+     * @param dx : the new velocity in the x axis
+     * @param dy : the new velocity in the y axis
+     */
+    public void setVelocity(double dx, double dy) {
+        this.velocity.set(dx, dy);
     }
 
     /**
@@ -57,7 +67,7 @@ public class VelocityControl {
      * @return the velocity applied for that time
      */
     public Velocity getVelocityFor(double dt) {
-        return new Velocity(this.velocity.asVector().multiply(dt));
+        return new Velocity(this.velocity.getVx() * dt, this.velocity.getVy() * dt);
     }
 
     /**
@@ -67,7 +77,7 @@ public class VelocityControl {
      * @return a destination point
      */
     public Point applyToPoint(Point p, double dt) {
-        return getVelocityFor(dt).applyToPoint(p);
+        return this.velocity.applyToPoint(p, dt);
     }
 
     /**
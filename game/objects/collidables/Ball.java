@@ -1,11 +1,13 @@
 package project.game.objects.collidables;
 import java.awt.Color;
-import java.util.function.Predicate;
 
 import biuoop.DrawSurface;
+import project.game.DamageList;
 import project.game.GameEnvironment;
 import project.game.objects.BaseGameObject;
-import project.game.objects.Sprite;
+import project.game.objects.DamageTracker;
+import project.game.objects.DirtyRegionSprite;
+import project.game.objects.InterpolatedSprite;
 import project.game.objects.VelocityControl;
 import project.geometry.Line;
 import project.geometry.Point;
@@ -17,17 +19,23 @@ import project.misc.DrawUtils;
 /**
  * A class representing a circle.
  */
-public class Ball extends BaseGameObject implements Collidable, Sprite {
+public class Ball extends BaseGameObject implements Collidable, InterpolatedSprite, DirtyRegionSprite {
 
-    private static final Predicate<Collidable> NOT_BALL = new Predicate<Collidable>() {
+    // the maximum amount of collisions handled in one step
+    public static final int MAX_COLLISIONS_PER_STEP = 8;
 
-        @Override
-        public boolean test(Collidable t) {
-            return !(t instanceof Ball);
-        }
-    };
+    // the distance kept between the ball and a collidable it touched
+    private static final double CONTACT_DISTANCE = 1E-3;
+
+    // balls don't collide with each other
+    private static final int COLLISION_MASK = CollisionLayers.ALL & ~CollisionLayers.BALL;
 
-    private Point center;
+    // the center, kept as values so moving doesn't create a point every step
+    private double x;
+    private double y;
+    // the center before the last time step, used to draw between steps
+    private double previousX;
+    private double previousY;
     private final int radius;
     private final Color color;
 
@@ -35,6 +43,8 @@ public class Ball extends BaseGameObject implements Collidable, Sprite {
 
     private double differenceTime;
 
+    private final DamageTracker damageTracker = new DamageTracker();
+
     /**
      * Construct a new circle.
      * @param center : the center point of the circle
@@ -43,7 +53,7 @@ public class Ball extends BaseGameObject implements Collidable, Sprite {
      */
     public Ball(Point center, int r, Color color) {
         // initialize given parameters
-        this.center = center;
+        moveTo(center);
         this.radius = r;
         this.color = color;
 
@@ -56,7 +66,7 @@ public class Ball extends BaseGameObject implements Collidable, Sprite {
      * @return the x value
      */
     public int getX() {
-        return this.center.xFloored();
+        return (int) this.x;
     }
 
     /**
@@ -64,7 +74,26 @@ public class Ball extends BaseGameObject implements Collidable, Sprite {
      * @return the y value
      */
     public int getY() {
-        return this.center.yFloored();
+        return (int) this.y;
+    }
+
+    /**
+     * Get the center of this ball.
+     * @return a new point instance
+     */
+    public Point getCenter() {
+        return new Point(this.x, this.y);
+    }
+
+    /**
+     * Move the center of this ball to a given point, without drawing it on the way there.
+     * @param center : the new center
+     */
+    private void moveTo(Point center) {
+        this.x = center.getX();
+        this.y = center.getY();
+        this.previousX = this.x;
+        this.previousY = this.y;
     }
 
     /**
@@ -89,11 +118,50 @@ public class Ball extends BaseGameObject implements Collidable, Sprite {
      */
     @Override
     public void drawOn(DrawSurface surface) {
+        drawAt(surface, getCenter());
+    }
+
+    @Override
+    public void drawOn(DrawSurface surface, double alpha) {
+        double drawX = this.previousX + (this.x - this.previousX) * alpha;
+        double drawY = this.previousY + (this.y - this.previousY) * alpha;
+
+        drawAt(surface, new Point(drawX, drawY));
+    }
+
+    /**
+     * Draw this ball at a given position.
+     * @param surface : the surface to draw on
+     * @param position : the center to draw the ball around
+     */
+    private void drawAt(DrawSurface surface, Point position) {
         DrawUtils utils = new DrawUtils(surface);
 
         // draw the ball circle and outline
-        utils.fillCircle(this.center, this.radius, this.color);
-        utils.drawCircle(this.center, this.radius, Color.BLACK);
+        utils.fillCircle(position, this.radius, this.color);
+        utils.drawCircle(position, this.radius, Color.BLACK);
+    }
+
+    /**
+     * Get the area this ball is drawn in, from its previous center to its current one.
+     * @return the bounds of both circles
+     */
+    @Override
+    public Rectangle getDrawBounds() {
+        int left = (int) Math.floor(Math.min(this.previousX, this.x) - this.radius);
+        int top = (int) Math.floor(Math.min(this.previousY, this.y) - this.radius);
+        int right = (int) Math.ceil(Math.max(this.previousX, this.x) + this.radius);
+        int bottom = (int) Math.ceil(Math.max(this.previousY, this.y) + this.radius);
+
+        return new Rectangle(new Point(left, top), right - left, bottom - top);
+    }
+
+    @Override
+    public void reportDamage(DamageList damage) {
+        // while moving, every frame might draw the ball anywhere between the two centers
+        boolean moving = this.previousX != this.x || this.previousY != this.y;
+
+        this.damageTracker.report(damage, getDrawBounds(), moving);
     }
 
     /**
@@ -114,7 +182,7 @@ public class Ball extends BaseGameObject implements Collidable, Sprite {
      * @param dy : the new velocity in y axis
      */
     public void setVelocity(double dx, double dy) {
-        setVelocity(new Velocity(dx, dy));
+        this.velocityControl.setVelocity(dx, dy);
     }
 
     /**
@@ -132,75 +200,174 @@ public class Ball extends BaseGameObject implements Collidable, Sprite {
         this.environment = ge;
     }
 
+    @Override
+    public boolean isMovable() {
+        return true;
+    }
+
+    @Override
+    public int collisionLayer() {
+        return CollisionLayers.BALL;
+    }
+
     /**
      * Get the trajectory for this ball.
      * @return a line instance
      */
     public Line trajectory() {
-        return this.velocityControl.calculateTrajectory(this.center, this.differenceTime);
-    }
-
-    /**
-     * Query whether this ball is inside another collidable.
-     * @param c : the other collidable
-     * @return true if it is, otherwise false.
-     */
-    private boolean isInside(Collidable c) {
-        return c.getCollisionRectangle().contains(this.center);
+        return this.velocityControl.calculateTrajectory(getCenter(), this.differenceTime);
     }
 
     /**
      * Moves this ball 1 step according to its velocity and other collidable objects.
+     * The ball is swept along its trajectory. On every collision it stops where it touches the collidable,
+     *  takes the velocity the collidable returns and continues with the rest of the step, up to
+     *  {@link #MAX_COLLISIONS_PER_STEP} collisions.
      */
     public void moveOneStep() {
-        Line traj = trajectory();
+        // the part of this step's movement which is left
+        double remaining = 1;
+
+        for (int i = 0; i < MAX_COLLISIONS_PER_STEP && remaining > 0; i++) {
+            /* the trajectory of this step, without building a line for it */
+            Velocity v = getVelocity();
+            double dt = this.differenceTime * remaining;
+            double startX = this.x;
+            double startY = this.y;
+            double endX = startX + v.getVx() * dt;
+            double endY = startY + v.getVy() * dt;
+
+            // if not in an environment(or was just removed from it by a collision)
+            if (this.environment == null) {
+                this.x = endX;
+                this.y = endY;
+                break;
+            }
 
-        if (this.environment == null) {
-            this.center = traj.end();
-        } else {
             // move this ball through the trajectory and check if it collides
-            CollisionInfo collision = this.environment.getClosestCollision(traj, NOT_BALL);
-
-            // if there was a collision
-            if (collision != null) {
-                if (isInside(collision.collisionObject())) {
-                    this.center = super.getGame().getFreePoint();
-                    return;
-                }
-
-                // update velocity
-                setVelocity(collision.collisionObject()
-                        .hit(this, collision.collisionPoint(), getVelocity(),
-                                collision.collisionLine()));
-
-                Line toCollisionPoint = new Line(this.center, collision.collisionPoint());
-
-                // if there is a movement after the intersection
-                if (!toCollisionPoint.direction().isZero()) {
-                    // move to a slightly bit before the collision point
-                    final double fraction = 0.75D - Math.min(0.5D, getVelocity().speed() * this.differenceTime * 0.2D);
-                    Line newTrajectory = toCollisionPoint.fractionOfLine(fraction);
-
-                    if (newTrajectory.length() < GameEnvironment.MINIMUM_MOVEMENT) {
-                        return;
-                    }
-
-                    this.center = newTrajectory.end();
-                }
-
-                // if no collision
-            } else {
-                this.center = traj.end();
+            CollisionInfo collision = this.environment.getClosestCollision(startX, startY, endX, endY, this.radius,
+                    COLLISION_MASK);
+
+            // if no collision
+            if (collision == null) {
+                this.x = endX;
+                this.y = endY;
+                break;
             }
+
+            Collidable object = collision.collisionObject();
+
+            // if already overlapping the object(it might have moved into the ball), get out of it first
+            if (separateFrom(object)) {
+                continue;
+            }
+
+            /* move to where the ball touches the object, keeping a tiny distance away from it */
+            double t = collision.fraction();
+            double touchX = startX + t * (endX - startX);
+            double touchY = startY + t * (endY - startY);
+
+            Point contact = collision.collisionPoint();
+            double awayX = touchX - contact.getX();
+            double awayY = touchY - contact.getY();
+            double awayLength = Math.sqrt(awayX * awayX + awayY * awayY);
+
+            if (awayLength > 0) {
+                touchX += awayX / awayLength * CONTACT_DISTANCE;
+                touchY += awayY / awayLength * CONTACT_DISTANCE;
+            }
+
+            this.x = touchX;
+            this.y = touchY;
+            remaining *= 1 - t;
+
+            // update velocity
+            setVelocity(object.hit(this, contact, getVelocity(), collision.collisionLine()));
         }
 
         this.initRectangle();
     }
 
+    /**
+     * If this ball overlaps a collidable, move it out through the closest edge and let the collidable know
+     *  it was hit there. The ball is never left moving back into the collidable through that edge.
+     * @param object : the collidable
+     * @return true if the ball was overlapping it. false otherwise.
+     */
+    private boolean separateFrom(Collidable object) {
+        Rectangle rect = object.getCollisionRectangle();
+
+        double left = rect.getLeft();
+        double top = rect.getTop();
+        double right = left + rect.getWidth();
+        double bottom = top + rect.getHeight();
+
+        double x = this.x;
+        double y = this.y;
+
+        // how deep the ball is inside, through each edge
+        double topDepth = y - (top - this.radius);
+        double rightDepth = right + this.radius - x;
+        double bottomDepth = bottom + this.radius - y;
+        double leftDepth = x - (left - this.radius);
+
+        // if touching from outside
+        if (topDepth <= 0 || rightDepth <= 0 || bottomDepth <= 0 || leftDepth <= 0) {
+            return false;
+        }
+
+        /* find the closest edge to move out through */
+        int edge = Rectangle.TOP;
+        double depth = topDepth;
+        double normalX = 0;
+        double normalY = -1;
+
+        if (rightDepth < depth) {
+            edge = Rectangle.RIGHT;
+            depth = rightDepth;
+            normalX = 1;
+            normalY = 0;
+        }
+        if (bottomDepth < depth) {
+            edge = Rectangle.BOTTOM;
+            depth = bottomDepth;
+            normalX = 0;
+            normalY = 1;
+        }
+        if (leftDepth < depth) {
+            edge = Rectangle.LEFT;
+            depth = leftDepth;
+            normalX = -1;
+            normalY = 0;
+        }
+
+        double distance = depth + CONTACT_DISTANCE;
+        this.x = x + normalX * distance;
+        this.y = y + normalY * distance;
+
+        Point contact = new Point(Math.max(left, Math.min(right, x)), Math.max(top, Math.min(bottom, y)));
+        Velocity v = object.hit(this, contact, getVelocity(), rect.getLine(edge));
+
+        // don't move back into the object
+        double vx = v.getVx();
+        double vy = v.getVy();
+        if (vx * normalX < 0) {
+            vx = -vx;
+        }
+        if (vy * normalY < 0) {
+            vy = -vy;
+        }
+
+        setVelocity(vx, vy);
+        return true;
+    }
+
     @Override
     public void timePassed(double dt) {
         // set the current ball velocity
         this.differenceTime = dt;
+        this.previousX = this.x;
+        this.previousY = this.y;
         moveOneStep();
 
         // fixing errors
@@ -212,8 +379,11 @@ public class Ball extends BaseGameObject implements Collidable, Sprite {
      * Fixes the velocity if the ball starts moving on the x axis.
      */
     private void fixVelocity() {
-        if (getVelocity().asVector().onSameLine(Vector2D.X_UNIT)) {
-            setVelocity(new Velocity(Vector2D.Y_UNIT.opposite().multiply(getSpeed())));
+        Velocity v = getVelocity();
+
+        // if moving only on the x axis, send it up at the same speed
+        if (v.getVy() == 0 && v.getVx() != 0) {
+            setVelocity(0, -getSpeed());
         }
     }
 
@@ -231,19 +401,30 @@ public class Ball extends BaseGameObject implements Collidable, Sprite {
      */
     private void checkInsideBounds() {
         if (getGame() != null) {
-            if (!getGame().insideBounds(this.center)) {
-                this.center = getGame().getFreePoint();
+            if (!getGame().insideBounds(this.x, this.y)) {
+                moveToFreePoint();
             }
         }
     }
 
+    /**
+     * Move this ball to a free point in the game, without drawing it on the way there.
+     */
+    private void moveToFreePoint() {
+        moveTo(getGame().getFreePoint());
+    }
+
     private Rectangle rect;
 
     /**
-     * Initialize the hit rectangle for this ball.
+     * Initialize the hit rectangle for this ball, or move it to the current center.
      */
     private void initRectangle() {
-        this.rect = new Rectangle(this.center, this.radius * 2);
+        if (this.rect == null) {
+            this.rect = new Rectangle(getCenter(), this.radius * 2);
+        } else {
+            this.rect.moveTo(this.x - this.radius, this.y - this.radius);
+        }
     }
 
     @Override
@@ -258,7 +439,7 @@ public class Ball extends BaseGameObject implements Collidable, Sprite {
     @Override
     public String toString() {
         final String format = "Ball = {loc : %s, r: %s}";
-        return String.format(format, this.center, this.radius);
+        return String.format(format, getCenter(), this.radius);
     }
 
     @Override
@@ -268,7 +449,7 @@ public class Ball extends BaseGameObject implements Collidable, Sprite {
 
     @Override
     public Velocity hit(Ball ball, Point collisionPoint, Velocity currentVelocity, Line collisionLine) {
-        Vector2D change = this.center.asVector().subtract(collisionLine.middle().asVector());
+        Vector2D change = getCenter().asVector().subtract(collisionLine.middle().asVector());
         Vector2D vel = getVelocity().asVector();
 
         /* change the velocity of this ball according to the side of collision */
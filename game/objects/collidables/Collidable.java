@@ -42,4 +42,18 @@ public interface Collidable {
      * @param environment : the environment to set
      */
     void setGameEnvironment(GameEnvironment environment);
+
+    /**
+     * Query whether the collision rectangle of this object might change while it is in a game.
+     * Objects which can't move are indexed spatially by the {@link GameEnvironment}.
+     * @return true if it might. false otherwise.
+     */
+    boolean isMovable();
+
+    /**
+     * Get the layer of this object, one of the {@link CollisionLayers}. The {@link GameEnvironment} reads
+     *  it once when the object is added, so it mustn't change while the object is in an environment.
+     * @return the layer
+     */
+    int collisionLayer();
 }
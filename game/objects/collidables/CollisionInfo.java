@@ -10,6 +10,7 @@ public class CollisionInfo {
     private final Point collisionPoint;
     private final Collidable collisionObject;
     private final Line collisionLine;
+    private final double fraction;
 
     /**
      * Construct a new {@link CollisionInfo} instance.
@@ -28,9 +29,21 @@ public class CollisionInfo {
      * @param collisionLine : the line of the object that was collided with
      */
     public CollisionInfo(Point collisionPoint, Collidable collisionObject, Line collisionLine) {
+        this(collisionPoint, collisionObject, collisionLine, Double.NaN);
+    }
+
+    /**
+     * Construct a new {@link CollisionInfo} instance.
+     * @param collisionPoint : the collision point
+     * @param collisionObject : the colliding object
+     * @param collisionLine : the line of the object that was collided with
+     * @param fraction : the fraction of the trajectory passed until the collision
+     */
+    public CollisionInfo(Point collisionPoint, Collidable collisionObject, Line collisionLine, double fraction) {
         this.collisionPoint = collisionPoint;
         this.collisionObject = collisionObject;
         this.collisionLine = collisionLine;
+        this.fraction = fraction;
     }
 
     /**
@@ -56,4 +69,12 @@ public class CollisionInfo {
     public Line collisionLine() {
         return this.collisionLine;
     }
+
+    /**
+     * Get the fraction of the trajectory passed until this collision.
+     * @return a value in [0, 1], or NaN if unknown
+     */
+    public double fraction() {
+        return this.fraction;
+    }
 }
@@ -0,0 +1,50 @@
+package project.game.objects.collidables;
+
+/**
+ * {@link CollisionLayers} holds the layers a {@link Collidable} might be on. Every layer is a single bit,
+ *  so a set of layers(a mask) is the bitwise or of them.
+ * The {@link project.game.GameEnvironment} keeps the collidables of each layer apart, so a query only
+ *  goes over the collidables on the layers of its mask.
+ */
+public final class CollisionLayers {
+
+    public static final int BALL = 1;
+    public static final int BLOCK = 1 << 1;
+    public static final int BOUNDARY = 1 << 2;
+    public static final int PADDLE = 1 << 3;
+
+    // the amount of layers
+    public static final int COUNT = 4;
+
+    // the mask of all the layers
+    public static final int ALL = (1 << COUNT) - 1;
+
+    /**
+     * This class only holds constants.
+     */
+    private CollisionLayers() { }
+
+    /**
+     * Get the index of a layer, in [0, {@link #COUNT}).
+     * @param layer : the layer
+     * @return the index
+     * @throws IllegalArgumentException if the layer isn't a single known layer
+     */
+    public static int indexOf(int layer) {
+        if (Integer.bitCount(layer) != 1 || (layer & ALL) == 0) {
+            throw new IllegalArgumentException("Not a collision layer: " + layer);
+        }
+
+        return Integer.numberOfTrailingZeros(layer);
+    }
+
+    /**
+     * Query whether a mask includes a layer.
+     * @param mask : the mask
+     * @param layer : the layer
+     * @return true if it does. false otherwise.
+     */
+    public static boolean includes(int mask, int layer) {
+        return (mask & layer) != 0;
+    }
+}
@@ -1,13 +1,15 @@
 package project.game.objects.collidables;
 
 import java.awt.Color;
-import java.util.function.Predicate;
 
 import biuoop.DrawSurface;
 import biuoop.KeyboardSensor;
+import project.game.DamageList;
 import project.game.GameEnvironment;
 import project.game.objects.BaseGameObject;
-import project.game.objects.Sprite;
+import project.game.objects.DamageTracker;
+import project.game.objects.DirtyRegionSprite;
+import project.game.objects.InterpolatedSprite;
 import project.geometry.EqualSegmentDivision;
 import project.geometry.Line;
 import project.geometry.Point;
@@ -16,12 +18,11 @@ import project.geometry.Segment;
 import project.geometry.Vector2D;
 import project.geometry.Velocity;
 import project.misc.DrawUtils;
-import project.misc.NotThis;
 
 /**
  * A paddle in the game.
  */
-public class Paddle extends BaseGameObject implements Collidable, Sprite {
+public class Paddle extends BaseGameObject implements Collidable, InterpolatedSprite, DirtyRegionSprite {
 
     public static final int HEIGHT = 20;
 
@@ -31,13 +32,23 @@ public class Paddle extends BaseGameObject implements Collidable, Sprite {
     private int height;
 
     private int movementSpeed;
-    private Vector2D velocity;
+
+    // both vectors are modified in place while the paddle moves
+    private final Vector2D velocity;
     private Vector2D topLeft;
 
+    // the top left position before the last time step, used to draw between steps
+    private double previousLeft, previousTop;
+
+    // the collision rectangle, made on first use and moved along with the paddle
+    private Rectangle rect;
+
     private Color color;
 
     private double differenceTime;
 
+    private final DamageTracker damageTracker = new DamageTracker();
+
     /**
      * Construct a new Paddle controlled by a given KeyboardSensor.
      * @param keySensor : the given keyboard sensor
@@ -49,7 +60,7 @@ public class Paddle extends BaseGameObject implements Collidable, Sprite {
 
         this.height = HEIGHT;
 
-        this.resetVelocity();
+        this.velocity = new Vector2D(0, 0);
     }
 
     /**
@@ -58,43 +69,49 @@ public class Paddle extends BaseGameObject implements Collidable, Sprite {
      */
     public void setPosition(Point pos) {
         this.topLeft = pos.asVector();
+
+        this.previousLeft = pos.getX();
+        this.previousTop = pos.getY();
+
+        moveRectangle();
+    }
+
+    /**
+     * Move the collision rectangle to the current position, if it was made.
+     */
+    private void moveRectangle() {
+        if (this.rect != null) {
+            this.rect.moveTo(this.topLeft.getX(), this.topLeft.getY());
+        }
     }
 
     /**
      * Reset the velocity.
      */
     private void resetVelocity() {
-        this.velocity = new Vector2D(0, 0);
+        this.velocity.set(0, 0);
     }
 
     /**
      * Move the paddle to the right.
      */
     public void moveRight() {
-        this.velocity = this.velocity.add(rightVelocity());
+        this.velocity.addInPlace(stepLength(), 0);
     }
 
     /**
-     * Get the right velocity.
-     * @return the right velocity
+     * Get the distance the paddle passes in one movement.
+     * @return the distance
      */
-    private Vector2D rightVelocity() {
-        return new Vector2D(this.movementSpeed * this.differenceTime, 0);
+    private double stepLength() {
+        return this.movementSpeed * this.differenceTime;
     }
 
     /**
      * Move the paddle to the left.
      */
     public void moveLeft() {
-        this.velocity = this.velocity.add(leftVelocity());
-    }
-
-    /**
-     * Get the left velocity.
-     * @return the left velocity
-     */
-    private Vector2D leftVelocity() {
-        return new Vector2D(this.movementSpeed * this.differenceTime * -1, 0);
+        this.velocity.addInPlace(-stepLength(), 0);
     }
 
     /**
@@ -107,9 +124,49 @@ public class Paddle extends BaseGameObject implements Collidable, Sprite {
 
     @Override
     public void drawOn(DrawSurface surface) {
+        drawAt(surface, this.topLeft.asPoint());
+    }
+
+    @Override
+    public void drawOn(DrawSurface surface, double alpha) {
+        double x = this.previousLeft + (this.topLeft.getX() - this.previousLeft) * alpha;
+        double y = this.previousTop + (this.topLeft.getY() - this.previousTop) * alpha;
+
+        drawAt(surface, new Point(x, y));
+    }
+
+    /**
+     * Draw this paddle at a given position.
+     * @param surface : the surface to draw on
+     * @param position : the top left position to draw at
+     */
+    private void drawAt(DrawSurface surface, Point position) {
         DrawUtils draw = new DrawUtils(surface);
-        draw.fillRectangle(this.topLeft.asPoint(), getWidth(), HEIGHT, this.color);
-        draw.drawRectangle(this.topLeft.asPoint(), getWidth(), HEIGHT, Color.BLACK);
+
+        draw.fillRectangle(position, getWidth(), HEIGHT, this.color);
+        draw.drawRectangle(position, getWidth(), HEIGHT, Color.BLACK);
+    }
+
+    /**
+     * Get the area this paddle is drawn in, from its previous position to its current one.
+     * @return the bounds of both positions
+     */
+    @Override
+    public Rectangle getDrawBounds() {
+        int left = (int) Math.floor(Math.min(this.previousLeft, this.topLeft.getX()));
+        int top = (int) Math.floor(Math.min(this.previousTop, this.topLeft.getY()));
+        int right = (int) Math.ceil(Math.max(this.previousLeft, this.topLeft.getX()) + getWidth());
+        int bottom = (int) Math.ceil(Math.max(this.previousTop, this.topLeft.getY()) + HEIGHT);
+
+        return new Rectangle(new Point(left, top), right - left, bottom - top);
+    }
+
+    @Override
+    public void reportDamage(DamageList damage) {
+        // while moving, every frame might draw the paddle anywhere between the two positions
+        boolean moving = this.previousLeft != this.topLeft.getX() || this.previousTop != this.topLeft.getY();
+
+        this.damageTracker.report(damage, getDrawBounds(), moving);
     }
 
     /**
@@ -132,7 +189,8 @@ public class Paddle extends BaseGameObject implements Collidable, Sprite {
         return !this.velocity.isZero();
     }
 
-    private final Predicate<Collidable> notThis = new NotThis<Collidable>(this);
+    // the paddle doesn't collide with itself(or any other paddle)
+    private static final int COLLISION_MASK = CollisionLayers.ALL & ~CollisionLayers.PADDLE;
 
     /**
      * Check if there's no collision.
@@ -144,11 +202,12 @@ public class Paddle extends BaseGameObject implements Collidable, Sprite {
 
         // get any collision
         CollisionInfo collision = this.gameEnvironment
-                .getClosestCollision(trajectory, this.notThis, sensorsPairs, distance);
+                .getClosestCollision(trajectory, COLLISION_MASK, sensorsPairs, distance);
 
         // move only if there's no collision
         if (collision == null) {
-            this.topLeft = getTrajectory().end().asVector();
+            this.topLeft.addInPlace(this.velocity);
+            moveRectangle();
         }
     }
 
@@ -157,7 +216,7 @@ public class Paddle extends BaseGameObject implements Collidable, Sprite {
      * @return the middle left point
      */
     private Point middleLeft() {
-        return this.topLeft.add(0, this.height / 2).asPoint();
+        return new Point(this.topLeft.getX(), this.topLeft.getY() + this.height / 2);
     }
 
     /**
@@ -165,7 +224,7 @@ public class Paddle extends BaseGameObject implements Collidable, Sprite {
      * @return the middle right point
      */
     private Point middleRight() {
-        return this.topLeft.add(this.width, this.height / 2).asPoint();
+        return new Point(this.topLeft.getX() + this.width, this.topLeft.getY() + this.height / 2);
     }
 
     /**
@@ -184,15 +243,6 @@ public class Paddle extends BaseGameObject implements Collidable, Sprite {
         return this.velocity.sameDirection(Vector2D.X_UNIT.opposite());
     }
 
-    /**
-     * Get the trajectory of this paddle.
-     * @return the trajectory starting from the top left position.
-     */
-    private Line getTrajectory() {
-        Point target = this.topLeft.add(this.velocity).asPoint();
-        return new Line(this.topLeft.asPoint(), target);
-    }
-
     /**
      * Get the trajectory of this line, which has a start point positioned in the middle
      *  of the its edge its moving towards.
@@ -208,11 +258,15 @@ public class Paddle extends BaseGameObject implements Collidable, Sprite {
             return null;
         }
 
-        return new Line(startPoint, this.velocity);
+        Point endPoint = new Point(startPoint.getX() + this.velocity.getX(), startPoint.getY() + this.velocity.getY());
+        return new Line(startPoint, endPoint);
     }
 
     @Override
     public void timePassed(double dt) {
+        this.previousLeft = this.topLeft.getX();
+        this.previousTop = this.topLeft.getY();
+
         // do movement
         if (doMovement(dt)) {
             /* if moved */
@@ -228,7 +282,11 @@ public class Paddle extends BaseGameObject implements Collidable, Sprite {
 
     @Override
     public Rectangle getCollisionRectangle() {
-        return new Rectangle(this.topLeft.asPoint(), getWidth(), getHeight());
+        if (this.rect == null) {
+            this.rect = new Rectangle(this.topLeft.getX(), this.topLeft.getY(), getWidth(), getHeight());
+        }
+
+        return this.rect;
     }
 
     private static final int REGIONS = 5;
@@ -277,8 +335,10 @@ public class Paddle extends BaseGameObject implements Collidable, Sprite {
 
     @Override
     public Velocity hit(Ball ball, Point collisionPoint, Velocity currentVelocity, Line collisionLine) {
+        Rectangle collisionRect = getCollisionRectangle();
+
         // if hit from the top rectangle, do the special collision
-        if (collisionLine.equals(getCollisionRectangle().getLines()[Rectangle.TOP])) {
+        if (collisionRect.edgeIndex(collisionLine) == Rectangle.TOP) {
             int region = getRegion(collisionPoint);
             double angle = angleForRegion(region);
 
@@ -287,7 +347,7 @@ public class Paddle extends BaseGameObject implements Collidable, Sprite {
 
         Vector2D v = currentVelocity.asVector();
 
-        if (getCollisionRectangle().isVertex(collisionPoint)) {
+        if (collisionRect.isVertex(collisionPoint)) {
             return new Velocity(v.opposite());
         }
 
@@ -310,12 +370,25 @@ public class Paddle extends BaseGameObject implements Collidable, Sprite {
         this.gameEnvironment = environment;
     }
 
+    @Override
+    public boolean isMovable() {
+        return true;
+    }
+
+    @Override
+    public int collisionLayer() {
+        return CollisionLayers.PADDLE;
+    }
+
     /**
      * Set the width of this paddle.
      * @param w : the width
      */
     public void setWidth(int w) {
         this.width = w;
+
+        // the rectangle is made again in the new width
+        this.rect = null;
     }
 
     /**
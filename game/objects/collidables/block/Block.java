@@ -4,13 +4,16 @@ import java.util.ArrayList;
 import java.util.List;
 
 import biuoop.DrawSurface;
+import project.game.DamageList;
 import project.game.GameEnvironment;
 import project.game.events.HitListener;
 import project.game.events.HitNotifier;
 import project.game.objects.BaseGameObject;
-import project.game.objects.Sprite;
+import project.game.objects.DamageTracker;
+import project.game.objects.StaticSprite;
 import project.game.objects.collidables.Ball;
 import project.game.objects.collidables.Collidable;
+import project.game.objects.collidables.CollisionLayers;
 import project.geometry.Line;
 import project.geometry.Point;
 import project.geometry.Rectangle;
@@ -21,7 +24,7 @@ import project.misc.DrawUtils;
 /**
  * A block in the game.
  */
-public class Block extends BaseGameObject implements Collidable, Sprite, HitNotifier {
+public class Block extends BaseGameObject implements Collidable, StaticSprite, HitNotifier {
 
     public static final int BASIC_WIDTH = 60;
     public static final int BASIC_HEIGHT = 25;
@@ -38,6 +41,10 @@ public class Block extends BaseGameObject implements Collidable, Sprite, HitNoti
     // the background of the block
     private Background background;
 
+    // whether the look of the block changed since its last damage report
+    private boolean changed;
+    private final DamageTracker damageTracker = new DamageTracker();
+
 
     /**
      * Construct a new block based only on the top left position.
@@ -78,6 +85,17 @@ public class Block extends BaseGameObject implements Collidable, Sprite, HitNoti
         return this.rect;
     }
 
+    @Override
+    public Rectangle getDrawBounds() {
+        return getDrawRectangle();
+    }
+
+    @Override
+    public void reportDamage(DamageList damage) {
+        this.damageTracker.report(damage, getDrawBounds(), this.changed);
+        this.changed = false;
+    }
+
 
     /**
      * Get the top left position of this block.
@@ -128,10 +146,37 @@ public class Block extends BaseGameObject implements Collidable, Sprite, HitNoti
     public Velocity hit(Ball ball, Point collisionPoint, Velocity currentVelocity, Line collisionLine) {
         countHit();
 
+        Velocity v = bounce(this.getCollisionRectangle(), collisionPoint, currentVelocity, collisionLine);
+
+        this.notifyHit(ball);
+        return v;
+    }
+
+    /**
+     * Get the velocity of a ball bouncing off a block.
+     * @param rect : the collision rectangle of the block
+     * @param collisionPoint : the point where the collision occurred
+     * @param currentVelocity : the collision velocity
+     * @param collisionLine : the line of the rectangle which was collided with
+     * @return the new velocity
+     */
+    static Velocity bounce(Rectangle rect, Point collisionPoint, Velocity currentVelocity, Line collisionLine) {
+        return bounce(Rectangle.isVertex(rect.getLeft(), rect.getTop(), rect.getWidth(), rect.getHeight(),
+                collisionPoint), currentVelocity, collisionLine);
+    }
+
+    /**
+     * Get the velocity of a ball bouncing off a block.
+     * @param atVertex : whether the collision point is a vertex of the block
+     * @param currentVelocity : the collision velocity
+     * @param collisionLine : the line of the block which was collided with
+     * @return the new velocity
+     */
+    static Velocity bounce(boolean atVertex, Velocity currentVelocity, Line collisionLine) {
         Vector2D vec;
 
         // if hit a vertex, return in the same direction
-        if (this.getCollisionRectangle().isVertex(collisionPoint)) {
+        if (atVertex) {
             vec = currentVelocity.asVector().multiply(-1);
         } else {
             // get the velocity as vector so that we can perform operations
@@ -148,7 +193,6 @@ public class Block extends BaseGameObject implements Collidable, Sprite, HitNoti
             }
         }
 
-        this.notifyHit(ball);
         return new Velocity(vec);
     }
 
@@ -163,6 +207,7 @@ public class Block extends BaseGameObject implements Collidable, Sprite, HitNoti
     private void countHit() {
         if (this.countHits && this.hits > 0) {
             this.hits--;
+            this.changed = true;
         }
     }
 
@@ -172,6 +217,7 @@ public class Block extends BaseGameObject implements Collidable, Sprite, HitNoti
      */
     public void setHits(int hitPoints) {
         this.hits = hitPoints;
+        this.changed = true;
     }
 
     /**
@@ -188,12 +234,23 @@ public class Block extends BaseGameObject implements Collidable, Sprite, HitNoti
     @Override
     public void setGameEnvironment(GameEnvironment ge) { }
 
+    @Override
+    public boolean isMovable() {
+        return false;
+    }
+
+    @Override
+    public int collisionLayer() {
+        return CollisionLayers.BLOCK;
+    }
+
     /**
      * Set the background of this block.
      * @param bg : the background
      */
     public void setBackground(Background bg) {
         this.background = bg;
+        this.changed = true;
     }
 
     /**
@@ -210,6 +267,15 @@ public class Block extends BaseGameObject implements Collidable, Sprite, HitNoti
      */
     public void setStroke(Color s) {
         this.stroke = s;
+        this.changed = true;
+    }
+
+    /**
+     * Get the stroke color of this block.
+     * @return the color, or null if there's no stroke
+     */
+    public Color getStroke() {
+        return this.stroke;
     }
 
     @Override
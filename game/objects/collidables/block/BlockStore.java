@@ -0,0 +1,654 @@
+package project.game.objects.collidables.block;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import biuoop.DrawSurface;
+import project.game.DamageList;
+import project.game.events.BlockStoreListener;
+import project.game.objects.StaticSprite;
+import project.game.objects.collidables.Ball;
+import project.game.objects.collidables.Collidable;
+import project.geometry.Line;
+import project.geometry.Point;
+import project.geometry.RayHit;
+import project.geometry.Rectangle;
+import project.geometry.Velocity;
+import project.misc.DrawUtils;
+import project.misc.SlotList;
+
+/**
+ * {@link BlockStore} holds the blocks of a level in arrays(one per value) instead of a {@link Block}
+ *  object per block, so a block takes a few numbers.
+ * The background and the stroke of a block are shared by all the blocks of its prototype. A block is
+ *  referred to by its index, which never changes: a removed block keeps its index and is skipped.
+ * The blocks are indexed by a uniform grid of cells over the area they cover, so a query only looks at
+ *  the blocks of the cells it overlaps.
+ * The whole store is a single {@link StaticSprite}, drawn in the order the blocks were added, and a
+ *  block is a {@link Collidable} only through a {@link BlockView}.
+ */
+public final class BlockStore implements StaticSprite {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    // the side length of the cells of the index, the same as the cells of the collidables grid
+    private static final int CELL_SIZE = 40;
+
+    // the blocks
+    private double[] xs;
+    private double[] ys;
+    private int[] widths;
+    private int[] heights;
+    private int[] hits;
+    private int[] prototypes;
+    private boolean[] removed;
+    private int size;
+    private int remaining;
+
+    // the area covered by all the blocks, empty if there are no blocks
+    private double minX, minY, maxX, maxY;
+
+    // the prototypes
+    private Background[] backgrounds = new Background[0];
+    private Color[] strokes = new Color[0];
+
+    /* the index of the blocks: the blocks of cell c are cellBlocks[cellStarts[c]..cellStarts[c + 1]), in
+     * index order. made on the first query, and made again after blocks are added */
+    private int[] cellStarts;
+    private int[] cellBlocks;
+    private int columns, rows;
+
+    // the last query every block was looked at in, so a block in several cells is looked at once
+    private int[] lastQuery;
+    private int currentQuery;
+
+    // reused result of casting a segment on a single block
+    private final RayHit blockHit = new RayHit();
+
+    private final SlotList<BlockStoreListener> hitListeners = new SlotList<>();
+
+    // the depth of hit notifications in progress, the listeners are compacted only when there are none
+    private int notifying;
+
+    // the areas of the blocks which changed since the last damage report
+    private final DamageList changes = new DamageList();
+
+    /**
+     * Construct a new empty store.
+     * @param capacity : the amount of blocks the store has room for before growing
+     */
+    public BlockStore(int capacity) {
+        int n = Math.max(capacity, 1);
+
+        this.xs = new double[n];
+        this.ys = new double[n];
+        this.widths = new int[n];
+        this.heights = new int[n];
+        this.hits = new int[n];
+        this.prototypes = new int[n];
+        this.removed = new boolean[n];
+    }
+
+    /**
+     * Construct a new empty store.
+     */
+    public BlockStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construct a new store holding the values of a list of blocks.
+     * @param blocks : the blocks, which are not used after this call
+     * @return the store
+     */
+    public static BlockStore of(List<Block> blocks) {
+        BlockStore store = new BlockStore(blocks.size());
+
+        for (Block block : blocks) {
+            store.add(block);
+        }
+
+        return store;
+    }
+
+    /**
+     * Get the prototype of a background and a stroke, adding it if there's none.
+     * @param background : the background, might be null
+     * @param stroke : the stroke color, might be null
+     * @return the id of the prototype
+     */
+    public int prototype(Background background, Color stroke) {
+        // levels have few prototypes
+        for (int i = 0; i < this.backgrounds.length; i++) {
+            if (this.backgrounds[i] == background && this.strokes[i] == stroke) {
+                return i;
+            }
+        }
+
+        this.backgrounds = Arrays.copyOf(this.backgrounds, this.backgrounds.length + 1);
+        this.strokes = Arrays.copyOf(this.strokes, this.strokes.length + 1);
+
+        this.backgrounds[this.backgrounds.length - 1] = background;
+        this.strokes[this.strokes.length - 1] = stroke;
+
+        return this.backgrounds.length - 1;
+    }
+
+    /**
+     * Add a block.
+     * @param x : the left x of the block
+     * @param y : the top y of the block
+     * @param width : the width of the block
+     * @param height : the height of the block
+     * @param hitPoints : the hit points of the block
+     * @param prototype : the id of the prototype of the block
+     * @return the index of the block
+     */
+    public int add(double x, double y, int width, int height, int hitPoints, int prototype) {
+        if (prototype < 0 || prototype >= this.backgrounds.length) {
+            throw new IllegalArgumentException("No prototype " + prototype);
+        }
+
+        if (this.size == this.xs.length) {
+            grow();
+        }
+
+        int i = this.size++;
+
+        this.xs[i] = x;
+        this.ys[i] = y;
+        this.widths[i] = width;
+        this.heights[i] = height;
+        this.hits[i] = hitPoints;
+        this.prototypes[i] = prototype;
+        this.remaining++;
+
+        if (i == 0) {
+            this.minX = x;
+            this.minY = y;
+            this.maxX = x + width;
+            this.maxY = y + height;
+        } else {
+            this.minX = Math.min(this.minX, x);
+            this.minY = Math.min(this.minY, y);
+            this.maxX = Math.max(this.maxX, x + width);
+            this.maxY = Math.max(this.maxY, y + height);
+        }
+
+        // the index doesn't have the block
+        this.cellStarts = null;
+
+        return i;
+    }
+
+    /**
+     * Add a block with the values of a given block.
+     * @param block : the block, which is not used after this call
+     * @return the index of the block
+     */
+    public int add(Block block) {
+        Point topLeft = block.topLeft();
+
+        return add(topLeft.getX(), topLeft.getY(), block.width(), block.height(), block.getHitPoints(),
+                prototype(block.getBackground(), block.getStroke()));
+    }
+
+    /**
+     * Create a new store holding the blocks of this store as they are now(removed blocks stay removed).
+     *  The prototypes are shared, the listeners and the changes aren't copied.
+     * @return the new store
+     */
+    public BlockStore copy() {
+        BlockStore copy = new BlockStore(this.size);
+
+        copy.backgrounds = this.backgrounds.clone();
+        copy.strokes = this.strokes.clone();
+
+        System.arraycopy(this.xs, 0, copy.xs, 0, this.size);
+        System.arraycopy(this.ys, 0, copy.ys, 0, this.size);
+        System.arraycopy(this.widths, 0, copy.widths, 0, this.size);
+        System.arraycopy(this.heights, 0, copy.heights, 0, this.size);
+        System.arraycopy(this.hits, 0, copy.hits, 0, this.size);
+        System.arraycopy(this.prototypes, 0, copy.prototypes, 0, this.size);
+        System.arraycopy(this.removed, 0, copy.removed, 0, this.size);
+
+        copy.size = this.size;
+        copy.remaining = this.remaining;
+        copy.minX = this.minX;
+        copy.minY = this.minY;
+        copy.maxX = this.maxX;
+        copy.maxY = this.maxY;
+
+        return copy;
+    }
+
+    /**
+     * Double the room for blocks.
+     */
+    private void grow() {
+        int n = this.xs.length * 2;
+
+        this.xs = Arrays.copyOf(this.xs, n);
+        this.ys = Arrays.copyOf(this.ys, n);
+        this.widths = Arrays.copyOf(this.widths, n);
+        this.heights = Arrays.copyOf(this.heights, n);
+        this.hits = Arrays.copyOf(this.hits, n);
+        this.prototypes = Arrays.copyOf(this.prototypes, n);
+        this.removed = Arrays.copyOf(this.removed, n);
+    }
+
+    /**
+     * Get the amount of blocks ever added, including the removed ones. The indices of the blocks are
+     *  in [0, size()).
+     * @return the amount
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Get the amount of blocks which weren't removed.
+     * @return the amount
+     */
+    public int remaining() {
+        return this.remaining;
+    }
+
+    /**
+     * Query whether a block was removed.
+     * @param i : the index of the block
+     * @return true if it was. false otherwise.
+     */
+    public boolean isRemoved(int i) {
+        return this.removed[i];
+    }
+
+    /**
+     * Get the left x of a block.
+     * @param i : the index of the block
+     * @return the x
+     */
+    public double getX(int i) {
+        return this.xs[i];
+    }
+
+    /**
+     * Get the top y of a block.
+     * @param i : the index of the block
+     * @return the y
+     */
+    public double getY(int i) {
+        return this.ys[i];
+    }
+
+    /**
+     * Get the width of a block.
+     * @param i : the index of the block
+     * @return the width
+     */
+    public int getWidth(int i) {
+        return this.widths[i];
+    }
+
+    /**
+     * Get the height of a block.
+     * @param i : the index of the block
+     * @return the height
+     */
+    public int getHeight(int i) {
+        return this.heights[i];
+    }
+
+    /**
+     * Get the amount of hits a block can take.
+     * @param i : the index of the block
+     * @return the amount of hits left
+     */
+    public int getHitPoints(int i) {
+        return this.hits[i];
+    }
+
+    /**
+     * Get the background of a block.
+     * @param i : the index of the block
+     * @return the background, might be null
+     */
+    public Background getBackground(int i) {
+        return this.backgrounds[this.prototypes[i]];
+    }
+
+    /**
+     * Get the stroke color of a block.
+     * @param i : the index of the block
+     * @return the color, or null if there's no stroke
+     */
+    public Color getStroke(int i) {
+        return this.strokes[this.prototypes[i]];
+    }
+
+    /**
+     * Get the collision rectangle of a block.
+     * @param i : the index of the block
+     * @return a new rectangle
+     */
+    public Rectangle getRectangle(int i) {
+        return new Rectangle(this.xs[i], this.ys[i], this.widths[i], this.heights[i]);
+    }
+
+    /**
+     * Get a {@link Collidable} view of a block.
+     * @param i : the index of the block
+     * @return a new view
+     */
+    public BlockView view(int i) {
+        return new BlockView(this, i);
+    }
+
+    /**
+     * Make the index of the blocks if it wasn't made since the last block was added.
+     */
+    private void ensureIndex() {
+        if (this.cellStarts != null) {
+            return;
+        }
+
+        this.columns = (int) Math.floor((this.maxX - this.minX) / CELL_SIZE) + 1;
+        this.rows = (int) Math.floor((this.maxY - this.minY) / CELL_SIZE) + 1;
+
+        int[] starts = new int[this.columns * this.rows + 1];
+
+        /* count the blocks of every cell, a block is in every cell it overlaps or touches */
+        for (int i = 0; i < this.size; i++) {
+            for (int r = row(this.ys[i]); r <= row(this.ys[i] + this.heights[i]); r++) {
+                for (int c = column(this.xs[i]); c <= column(this.xs[i] + this.widths[i]); c++) {
+                    starts[r * this.columns + c + 1]++;
+                }
+            }
+        }
+
+        for (int c = 0; c < starts.length - 1; c++) {
+            starts[c + 1] += starts[c];
+        }
+
+        /* fill the cells in index order */
+        int[] blocks = new int[starts[starts.length - 1]];
+        int[] next = Arrays.copyOf(starts, starts.length - 1);
+
+        for (int i = 0; i < this.size; i++) {
+            for (int r = row(this.ys[i]); r <= row(this.ys[i] + this.heights[i]); r++) {
+                for (int c = column(this.xs[i]); c <= column(this.xs[i] + this.widths[i]); c++) {
+                    blocks[next[r * this.columns + c]++] = i;
+                }
+            }
+        }
+
+        this.cellStarts = starts;
+        this.cellBlocks = blocks;
+
+        if (this.lastQuery == null || this.lastQuery.length < this.size) {
+            this.lastQuery = new int[this.xs.length];
+        }
+    }
+
+    /**
+     * Get the column of the index of a given x value, clamped to the index.
+     * @param x : the x value
+     * @return the column
+     */
+    private int column(double x) {
+        return Math.max(0, Math.min(this.columns - 1, (int) Math.floor((x - this.minX) / CELL_SIZE)));
+    }
+
+    /**
+     * Get the row of the index of a given y value, clamped to the index.
+     * @param y : the y value
+     * @return the row
+     */
+    private int row(double y) {
+        return Math.max(0, Math.min(this.rows - 1, (int) Math.floor((y - this.minY) / CELL_SIZE)));
+    }
+
+    /**
+     * Find the block hit by a segment closest to a given point, and closer than a given distance.
+     * Only the blocks of the cells overlapped by the bounding box of the segment are looked at, and
+     *  those outside the bounding box are rejected before casting the segment on them. If several
+     *  blocks are hit at the same distance, the one with the lowest index is chosen.
+     * @param startX : the x of the start of the segment
+     * @param startY : the y of the start of the segment
+     * @param dx : the length of the segment on the x axis
+     * @param dy : the length of the segment on the y axis
+     * @param radius : the amount to expand every block by on each side
+     * @param toX : the x of the point to measure the distance of the hits from
+     * @param toY : the y of the point to measure the distance of the hits from
+     * @param maximumDistance : the squared distance a hit has to be closer than
+     * @param include : a predicate telling which blocks should be hit, tested on views of the blocks
+     *  which are closer than all the blocks before them. null to include all the blocks
+     * @param hit : the result to set to the hit of the returned block
+     * @return the index of the block, or -1 if there's none
+     */
+    public int castSegment(double startX, double startY, double dx, double dy, double radius, double toX,
+            double toY, double maximumDistance, Predicate<Collidable> include, RayHit hit) {
+        double minX = Math.min(startX, startX + dx) - radius;
+        double maxX = Math.max(startX, startX + dx) + radius;
+        double minY = Math.min(startY, startY + dy) - radius;
+        double maxY = Math.max(startY, startY + dy) + radius;
+
+        // the segment might miss all the blocks
+        if (this.remaining == 0 || this.minX > maxX || this.maxX < minX || this.minY > maxY || this.maxY < minY) {
+            return -1;
+        }
+
+        ensureIndex();
+        this.currentQuery++;
+
+        double bestDistance = maximumDistance;
+        int best = -1;
+
+        RayHit blockHit = this.blockHit;
+        int lastRow = row(maxY);
+        int lastColumn = column(maxX);
+
+        for (int r = row(minY); r <= lastRow; r++) {
+            for (int c = column(minX); c <= lastColumn; c++) {
+                int cell = r * this.columns + c;
+
+                for (int k = this.cellStarts[cell]; k < this.cellStarts[cell + 1]; k++) {
+                    int i = this.cellBlocks[k];
+
+                    if (this.lastQuery[i] == this.currentQuery || this.removed[i]) {
+                        continue;
+                    }
+
+                    this.lastQuery[i] = this.currentQuery;
+
+                    double left = this.xs[i];
+                    double top = this.ys[i];
+
+                    if (left > maxX || left + this.widths[i] < minX || top > maxY || top + this.heights[i] < minY) {
+                        continue;
+                    }
+
+                    if (!Rectangle.castSegment(startX, startY, dx, dy, left - radius, top - radius,
+                            this.widths[i] + 2 * radius, this.heights[i] + 2 * radius, blockHit)) {
+                        continue;
+                    }
+
+                    double distance = blockHit.distanceSquared(toX, toY);
+
+                    // a view is made only for a block which is the closest so far
+                    if ((distance < bestDistance || (distance == bestDistance && i < best))
+                            && (include == null || include.test(view(i)))) {
+                        bestDistance = distance;
+                        best = i;
+                        hit.set(blockHit);
+                    }
+                }
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Find a block which surrounds a given point.
+     * @param x : the x of the point
+     * @param y : the y of the point
+     * @return the index of the block(the lowest if there are several), or -1 if there's none
+     */
+    public int indexAt(double x, double y) {
+        if (this.remaining == 0 || x <= this.minX || x >= this.maxX || y <= this.minY || y >= this.maxY) {
+            return -1;
+        }
+
+        ensureIndex();
+
+        int cell = row(y) * this.columns + column(x);
+
+        for (int k = this.cellStarts[cell]; k < this.cellStarts[cell + 1]; k++) {
+            int i = this.cellBlocks[k];
+
+            if (!this.removed[i] && x > this.xs[i] && x < this.xs[i] + this.widths[i]
+                    && y > this.ys[i] && y < this.ys[i] + this.heights[i]) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Remove a block. Its index isn't reused.
+     * @param i : the index of the block
+     */
+    public void remove(int i) {
+        if (this.removed[i]) {
+            return;
+        }
+
+        this.removed[i] = true;
+        this.remaining--;
+
+        addChange(i);
+    }
+
+    /**
+     * Notify a block that it was hit, counting the hit and notifying the listeners.
+     * @param i : the index of the block
+     * @param ball : the ball that hit the block
+     * @param collisionPoint : the point where the collision occurred
+     * @param currentVelocity : the collision velocity
+     * @param collisionLine : the line of the block which was collided with
+     * @return the new velocity of the ball
+     */
+    public Velocity hit(int i, Ball ball, Point collisionPoint, Velocity currentVelocity, Line collisionLine) {
+        // count the hit
+        if (this.hits[i] > 0) {
+            this.hits[i]--;
+            addChange(i);
+        }
+
+        boolean atVertex = Rectangle.isVertex(this.xs[i], this.ys[i], this.widths[i], this.heights[i],
+                collisionPoint);
+        Velocity v = Block.bounce(atVertex, currentVelocity, collisionLine);
+
+        // nothing iterates over the listeners unless this hit is notified from inside another one
+        if (this.notifying == 0) {
+            this.hitListeners.compact();
+        }
+
+        // the listeners might remove themselves, and the ones added now are notified from the next hit
+        this.notifying++;
+        try {
+            int end = this.hitListeners.end();
+
+            for (int k = 0; k < end; k++) {
+                BlockStoreListener listener = this.hitListeners.get(k);
+
+                if (listener != null) {
+                    listener.hitEvent(this, i, ball);
+                }
+            }
+        } finally {
+            this.notifying--;
+        }
+
+        return v;
+    }
+
+    /**
+     * Add the given listener as a hit listener for all the blocks of this store.
+     * @param hl : the listener
+     */
+    public void addHitListener(BlockStoreListener hl) {
+        this.hitListeners.add(hl);
+    }
+
+    /**
+     * Remove the given listener from listening to hit events of the blocks of this store.
+     * @param hl : the listener
+     */
+    public void removeHitListener(BlockStoreListener hl) {
+        this.hitListeners.remove(hl);
+    }
+
+    /**
+     * Add the area of a block to the changes of the next damage report.
+     * @param i : the index of the block
+     */
+    private void addChange(int i) {
+        this.changes.add(this.xs[i], this.ys[i], this.widths[i], this.heights[i]);
+    }
+
+    /**
+     * Draw a block.
+     * @param i : the index of the block
+     * @param surface : the surface to draw on
+     */
+    public void draw(int i, DrawSurface surface) {
+        Point topLeft = new Point(this.xs[i], this.ys[i]);
+        Background background = getBackground(i);
+        Color stroke = getStroke(i);
+
+        if (background != null) {
+            background.draw(topLeft, this.widths[i], this.heights[i], this.hits[i], surface);
+        }
+
+        if (stroke != null) {
+            new DrawUtils(surface).drawRectangle(topLeft, this.widths[i], this.heights[i], stroke);
+        }
+    }
+
+    @Override
+    public void drawOn(DrawSurface surface) {
+        for (int i = 0; i < this.size; i++) {
+            if (!this.removed[i]) {
+                draw(i, surface);
+            }
+        }
+    }
+
+    @Override
+    public void timePassed(double dt) { }
+
+    @Override
+    public Rectangle getDrawBounds() {
+        // the bounds are on whole pixels
+        int left = (int) Math.floor(this.minX);
+        int top = (int) Math.floor(this.minY);
+
+        return new Rectangle(left, top, (int) Math.ceil(this.maxX) - left, (int) Math.ceil(this.maxY) - top);
+    }
+
+    /**
+     * Add the areas of the blocks which were hit or removed since the last report, the rest of the
+     *  blocks look the same.
+     * @param damage : the damage list
+     */
+    @Override
+    public void reportDamage(DamageList damage) {
+        damage.addAll(this.changes);
+        this.changes.clear();
+    }
+}
@@ -0,0 +1,102 @@
+package project.game.objects.collidables.block;
+
+import project.game.GameEnvironment;
+import project.game.objects.collidables.Ball;
+import project.game.objects.collidables.Collidable;
+import project.game.objects.collidables.CollisionLayers;
+import project.geometry.Line;
+import project.geometry.Point;
+import project.geometry.Rectangle;
+import project.geometry.Velocity;
+
+/**
+ * {@link BlockView} is a {@link Collidable} view of a block of a {@link BlockStore}.
+ * Views are made only for the blocks which are collided with, and hold nothing but the store and
+ *  the index of the block.
+ */
+public final class BlockView implements Collidable {
+
+    private final BlockStore store;
+    private final int index;
+
+    // made on first use
+    private Rectangle rect;
+
+    /**
+     * Construct a new view.
+     * @param store : the store of the block
+     * @param index : the index of the block in the store
+     */
+    BlockView(BlockStore store, int index) {
+        this.store = store;
+        this.index = index;
+    }
+
+    /**
+     * Get the store of the block.
+     * @return the store
+     */
+    public BlockStore getStore() {
+        return this.store;
+    }
+
+    /**
+     * Get the index of the block in its store.
+     * @return the index
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    @Override
+    public Rectangle getCollisionRectangle() {
+        if (this.rect == null) {
+            this.rect = this.store.getRectangle(this.index);
+        }
+
+        return this.rect;
+    }
+
+    @Override
+    public Velocity hit(Ball ball, Point collisionPoint, Velocity currentVelocity) {
+        throw new RuntimeException(ERR_NO_COLLISION_LINE);
+    }
+
+    @Override
+    public Velocity hit(Ball ball, Point collisionPoint, Velocity currentVelocity, Line collisionLine) {
+        return this.store.hit(this.index, ball, collisionPoint, currentVelocity, collisionLine);
+    }
+
+    @Override
+    public void setGameEnvironment(GameEnvironment environment) { }
+
+    @Override
+    public boolean isMovable() {
+        return false;
+    }
+
+    @Override
+    public int collisionLayer() {
+        return CollisionLayers.BLOCK;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof BlockView)) {
+            return false;
+        }
+
+        BlockView other = (BlockView) obj;
+        return this.store == other.store && this.index == other.index;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this.store) * 31 + this.index;
+    }
+
+    @Override
+    public String toString() {
+        return "BlockView = {index: " + this.index + ", rect: " + getCollisionRectangle() + "}";
+    }
+}
@@ -3,12 +3,15 @@ package project.game.objects.collidables.block;
 import java.awt.Color;
 
 import biuoop.DrawSurface;
+import project.game.DamageList;
 import project.game.GameEnvironment;
 import project.game.events.HitListener;
 import project.game.objects.BaseGameObject;
-import project.game.objects.Sprite;
+import project.game.objects.DamageTracker;
+import project.game.objects.StaticSprite;
 import project.game.objects.collidables.Ball;
 import project.game.objects.collidables.Collidable;
+import project.game.objects.collidables.CollisionLayers;
 import project.geometry.Line;
 import project.geometry.Point;
 import project.geometry.Rectangle;
@@ -18,11 +21,13 @@ import project.misc.DrawUtils;
 /**
  * {@link BoundingBlock} is a block that is a boundary of the screen.
  */
-public class BoundingBlock extends BaseGameObject implements Collidable, Sprite {
+public class BoundingBlock extends BaseGameObject implements Collidable, StaticSprite {
 
     private Block block;
     private Color color;
 
+    private final DamageTracker damageTracker = new DamageTracker();
+
     /**
      * Construct a new {@link BoundingBlock}.
      * @param topLeft : the top left point
@@ -61,6 +66,17 @@ public class BoundingBlock extends BaseGameObject implements Collidable, Sprite
     public void timePassed(double dt) {
     }
 
+    @Override
+    public Rectangle getDrawBounds() {
+        return this.block.getDrawRectangle();
+    }
+
+    @Override
+    public void reportDamage(DamageList damage) {
+        // the look never changes
+        this.damageTracker.report(damage, getDrawBounds(), false);
+    }
+
     @Override
     public Rectangle getCollisionRectangle() {
         return this.block.getCollisionRectangle();
@@ -75,6 +91,16 @@ public class BoundingBlock extends BaseGameObject implements Collidable, Sprite
     public void setGameEnvironment(GameEnvironment environment) {
     }
 
+    @Override
+    public boolean isMovable() {
+        return false;
+    }
+
+    @Override
+    public int collisionLayer() {
+        return CollisionLayers.BOUNDARY;
+    }
+
     @Override
     public Velocity hit(Ball ball, Point collisionPoint, Velocity currentVelocity, Line collisionLine) {
         return this.block.hit(ball, collisionPoint, currentVelocity, collisionLine);
@@ -1,81 +1,105 @@
 package project.game.objects.collidables.block;
 
+import java.util.Arrays;
+
 import biuoop.DrawSurface;
 import project.geometry.Point;
 
 /**
  * {@link ChangingBackground} is a background that changes according to the hitpoints.
+ * It is immutable, a table indexed by the amount of hit points, so it can be shared by all the blocks
+ *  made from the same definition.
  */
-public class ChangingBackground implements Background {
+public final class ChangingBackground implements Background {
 
-    // a default background
-    private Background defaultBackground;
+    // the background for hit points without a background of their own, might be null
+    private final Background defaultBackground;
 
-    // a background which will first be checked
-    private Background firstPriorityBackground;
+    // the background for every amount of hit points, null where the default is used
+    private final Background[] backgrounds;
 
     /**
      * Construct a new changing background.
-     * @param firstPriority : a background which should be checked for match first
+     * @param defaultBackground : the background for any amount of hit points without a background
+     * @param backgrounds : the backgrounds for the amounts of hit points(the indices), it is not copied
+     */
+    private ChangingBackground(Background defaultBackground, Background[] backgrounds) {
+        this.defaultBackground = defaultBackground;
+        this.backgrounds = backgrounds;
+    }
+
+    /**
+     * Get a changing background which uses a given background for any amount of hit points.
+     * @param bg : the background, might be null
+     * @return the changing background
      */
-    public ChangingBackground(Background firstPriority) {
-        this.firstPriorityBackground = firstPriority;
+    public static ChangingBackground of(Background bg) {
+        if (bg instanceof ChangingBackground) {
+            return (ChangingBackground) bg;
+        }
+
+        return new ChangingBackground(bg, new Background[0]);
     }
 
     /**
-     * Add a default mapping for this changing background.
-     * @param bg : to which background
+     * Get a copy of this background with a different default background.
+     * @param bg : the default background
+     * @return the new changing background
      */
-    public void setDefaultMapping(Background bg) {
-        this.defaultBackground = bg;
+    public ChangingBackground withDefaultMapping(Background bg) {
+        return new ChangingBackground(bg, this.backgrounds);
     }
 
     /**
-     * Adds a background to the collection of backgrounds.
-     * @param hits : the amount of hits to initiate this background at
+     * Get a copy of this background with a background for an amount of hits.
+     * @param hits : the amount of hits to use the background at
      * @param bg : the background
+     * @return the new changing background
      */
-    public void addMapping(int hits, Background bg) {
-        this.firstPriorityBackground = new Background() {
-
-            private Background secondPriority = ChangingBackground.this.firstPriorityBackground;
-            private int amountOfHits = hits;
-
-            @Override
-            public Background getBackground(int hits) {
-                if (amountOfHits == hits) {
-                    return bg;
-                } else {
-                    return secondPriority;
-                }
-            }
-
-            @Override
-            public void draw(Point p, int width, int height, int hitPoints, DrawSurface surface) {
-                getBackground(hits).draw(p, width, height, hitPoints, surface);
-            }
-        };
+    public ChangingBackground withMapping(int hits, Background bg) {
+        if (hits < 0) {
+            return this;
+        }
+
+        Background[] table = Arrays.copyOf(this.backgrounds, Math.max(this.backgrounds.length, hits + 1));
+        table[hits] = bg;
+
+        return new ChangingBackground(this.defaultBackground, table);
+    }
+
+    /**
+     * Get the background for hit points without a background of their own.
+     * @return the background, might be null
+     */
+    public Background getDefaultBackground() {
+        return this.defaultBackground;
+    }
+
+    /**
+     * Get the backgrounds of the amounts of hit points.
+     * @return a copy of the table, indexed by the amount of hit points and null where the default is used
+     */
+    public Background[] getMappings() {
+        return this.backgrounds.clone();
     }
 
     @Override
     public void draw(Point p, int width, int height, int hitPoints, DrawSurface surface) {
+        Background bg = getBackground(hitPoints);
+
         // draw the background
-        getBackground(hitPoints).draw(p, width, height, hitPoints, surface);
+        if (bg != null) {
+            bg.draw(p, width, height, hitPoints, surface);
+        }
     }
 
     @Override
     public Background getBackground(int hits) {
-        Background bg = null;
-
-        if (this.firstPriorityBackground != null) {
-            bg = this.firstPriorityBackground.getBackground(hits);
-        }
-
-        if (bg == null) {
-            bg = this.defaultBackground;
+        if (hits >= 0 && hits < this.backgrounds.length && this.backgrounds[hits] != null) {
+            return this.backgrounds[hits];
         }
 
-        return bg;
+        return this.defaultBackground;
     }
 
 }
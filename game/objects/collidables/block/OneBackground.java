@@ -6,6 +6,7 @@ import java.awt.Image;
 import biuoop.DrawSurface;
 import project.geometry.Point;
 import project.misc.DrawUtils;
+import project.misc.ImageCache;
 
 /**
  * {@link OneBackground} is a block background.
@@ -15,6 +16,13 @@ public class OneBackground implements Background {
     private Color color;
     private Image img;
 
+    // the class-path of the image, null if it isn't known
+    private String imagePath;
+
+    // the image at the size it was last drawn at
+    private Image sizedImg;
+    private int sizedWidth, sizedHeight;
+
     /**
      * Construct a background from a given color.
      * @param color : the color
@@ -31,6 +39,64 @@ public class OneBackground implements Background {
         this.img = img;
     }
 
+    /**
+     * Construct a background from an image read from the class-path. The image is drawn from the
+     *  {@link ImageCache} at the size of the drawn area.
+     * @param imagePath : the class-path of the image
+     * @param img : the image
+     */
+    public OneBackground(String imagePath, Image img) {
+        this.imagePath = imagePath;
+        this.img = img;
+    }
+
+    /**
+     * Get the color of this background.
+     * @return the color, or null if it is an image
+     */
+    public Color getColor() {
+        return this.color;
+    }
+
+    /**
+     * Get the image of this background.
+     * @return the image, or null if it is a color
+     */
+    public Image getImage() {
+        return this.img;
+    }
+
+    /**
+     * Get the class-path of the image of this background.
+     * @return the path, or null if it isn't known
+     */
+    public String getImagePath() {
+        return this.imagePath;
+    }
+
+    /**
+     * Get the image at a given size.
+     * @param width : the width
+     * @param height : the height
+     * @return the image
+     */
+    private Image imageAt(int width, int height) {
+        if (this.imagePath == null) {
+            return this.img;
+        }
+
+        // a background is usually drawn at a single size(the size of the blocks sharing it)
+        if (this.sizedImg == null || this.sizedWidth != width || this.sizedHeight != height) {
+            Image sized = ImageCache.getImage(this.imagePath, width, height);
+
+            this.sizedImg = sized == null ? this.img : sized;
+            this.sizedWidth = width;
+            this.sizedHeight = height;
+        }
+
+        return this.sizedImg;
+    }
+
     @Override
     public void draw(Point p, int width, int height, int hitPoints, DrawSurface surface) {
         DrawUtils draw = new DrawUtils(surface);
@@ -40,7 +106,7 @@ public class OneBackground implements Background {
         }
 
         if (this.img != null) {
-            draw.drawImage(p, this.img);
+            draw.drawImage(p, imageAt(width, height));
         }
     }
 
@@ -0,0 +1,119 @@
+package project.game.simulation;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import project.game.levels.LevelInformation;
+import project.game.levels.io.levels.LevelCatalog;
+
+/**
+ * {@link AllocationCheck} checks that a running level allocates (nearly) nothing per frame.
+ * A level is simulated by a {@link LevelSimulator} for a short and a long amount of steps, and the bytes
+ *  allocated by this thread are read from the {@link com.sun.management.ThreadMXBean} of the JVM. The
+ *  difference between the two runs divided by the difference of their steps is the steady state allocation
+ *  per frame, without the allocations of creating the level.
+ * Usage:
+ * <pre>
+ * java project.game.simulation.AllocationCheck &lt;levels file&gt; [level index] [maximum bytes per frame]
+ * </pre>
+ * The exit status is 1 if the level allocates more than the maximum per frame.
+ */
+public final class AllocationCheck {
+
+    private static final long SHORT_STEPS = 2000;
+    private static final long LONG_STEPS = 22000;
+
+    // enough runs for the JIT to compile the frame before measuring
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 3;
+
+    private static final int LIVES = 3;
+    private static final long DEFAULT_MAXIMUM_BYTES = 16;
+
+    private final com.sun.management.ThreadMXBean threads;
+
+    /**
+     * Construct a new allocation check.
+     * @throws UnsupportedOperationException if the JVM can't report the bytes allocated by a thread
+     */
+    public AllocationCheck() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+        if (!(bean instanceof com.sun.management.ThreadMXBean)
+                || !((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            throw new UnsupportedOperationException("this JVM doesn't report the bytes allocated by a thread!");
+        }
+
+        this.threads = (com.sun.management.ThreadMXBean) bean;
+        this.threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    /**
+     * Measure the steady state allocation of a level.
+     * @param level : the level
+     * @return the allocated bytes per frame, the lowest of several measurements
+     * @throws IllegalStateException if the level ends before the short simulation does
+     */
+    public double bytesPerFrame(LevelInformation level) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            new LevelSimulator(LONG_STEPS).simulate(level, LIVES);
+        }
+
+        double best = Double.POSITIVE_INFINITY;
+
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long[] shortRun = measure(level, SHORT_STEPS);
+            long[] longRun = measure(level, LONG_STEPS);
+
+            if (longRun[1] <= shortRun[1]) {
+                throw new IllegalStateException("the level ended after " + shortRun[1]
+                        + " steps, it must last longer to be measured!");
+            }
+
+            best = Math.min(best, (double) (longRun[0] - shortRun[0]) / (longRun[1] - shortRun[1]));
+        }
+
+        return best;
+    }
+
+    /**
+     * Simulate a level and measure the bytes it allocates.
+     * @param level : the level
+     * @param maxSteps : the maximum amount of steps
+     * @return the allocated bytes and the amount of steps
+     */
+    private long[] measure(LevelInformation level, long maxSteps) {
+        LevelSimulator simulator = new LevelSimulator(maxSteps);
+        long threadId = Thread.currentThread().getId();
+
+        long before = this.threads.getThreadAllocatedBytes(threadId);
+        SimulationResult result = simulator.simulate(level, LIVES);
+        long after = this.threads.getThreadAllocatedBytes(threadId);
+
+        return new long[] {after - before, result.steps()};
+    }
+
+    /**
+     * The main method.
+     * @param args : the levels file, the index of the level(0 by default) and the maximum bytes per frame
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("usage: AllocationCheck <levels file> [level index] [maximum bytes per frame]");
+            System.exit(2);
+        }
+
+        List<LevelInformation> levels = LevelCatalog.getLevels(args[0]);
+        int index = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        long maximum = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_MAXIMUM_BYTES;
+
+        LevelInformation level = levels.get(index);
+        double bytes = new AllocationCheck().bytesPerFrame(level);
+
+        System.out.printf("%s: %.1f bytes per frame (maximum %d)%n", level.levelName(), bytes, maximum);
+
+        if (bytes > maximum) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package project.game.simulation;
+
+/**
+ * {@link KeyboardScript} decides which keys are pressed during a simulation.
+ */
+public interface KeyboardScript {
+
+    /**
+     * Called before every simulation step.
+     * @param step : the index of the step in the current level
+     * @param keyboard : the keyboard to press and release keys on
+     */
+    void beforeStep(long step, ScriptedKeyboardSensor keyboard);
+}
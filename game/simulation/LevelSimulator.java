@@ -0,0 +1,104 @@
+package project.game.simulation;
+
+import project.game.GameLevel;
+import project.game.levels.LevelInformation;
+import project.misc.Counter;
+
+/**
+ * {@link LevelSimulator} plays levels without a gui.
+ * The physics of a {@link GameLevel} are advanced in fixed time steps as fast as possible, nothing
+ *  is drawn and there is no countdown, pause screen or real time sleeping.
+ * The keyboard is a {@link ScriptedKeyboardSensor}, driven by an optional {@link KeyboardScript}.
+ */
+public class LevelSimulator {
+
+    public static final double DEFAULT_DT = 1D / 60;
+
+    private final double dt;
+    private final long maxSteps;
+
+    private final ScriptedKeyboardSensor keyboard;
+    private KeyboardScript script;
+
+    /**
+     * Construct a new level simulator.
+     * @param dt : the fixed time of every step, in seconds
+     * @param maxSteps : the maximum amount of steps per level, after which the level is given up
+     */
+    public LevelSimulator(double dt, long maxSteps) {
+        if (dt <= 0 || maxSteps <= 0) {
+            throw new IllegalArgumentException("the time step and the steps limit must be larger than 0!");
+        }
+
+        this.dt = dt;
+        this.maxSteps = maxSteps;
+        this.keyboard = new ScriptedKeyboardSensor();
+    }
+
+    /**
+     * Construct a new level simulator with the default time step.
+     * @param maxSteps : the maximum amount of steps per level
+     */
+    public LevelSimulator(long maxSteps) {
+        this(DEFAULT_DT, maxSteps);
+    }
+
+    /**
+     * Set the script which presses the keys during the simulation.
+     * @param keyboardScript : the script, or null for a keyboard nobody touches
+     */
+    public void setScript(KeyboardScript keyboardScript) {
+        this.script = keyboardScript;
+    }
+
+    /**
+     * Get the keyboard used by the simulated levels.
+     * @return the keyboard sensor
+     */
+    public ScriptedKeyboardSensor getKeyboard() {
+        return this.keyboard;
+    }
+
+    /**
+     * Simulate a level until it is cleared, all the lives are lost or the steps limit is reached.
+     * @param information : the level information
+     * @param lives : the amount of lives to start with
+     * @return the result of the simulation
+     */
+    public SimulationResult simulate(LevelInformation information, int lives) {
+        Counter livesCounter = new Counter(lives);
+        Counter score = new Counter();
+
+        this.keyboard.releaseAll();
+
+        // the level never uses the animation runner when advanced by steps
+        GameLevel level = new GameLevel(information, this.keyboard, null, livesCounter, score);
+        level.initialize();
+
+        long steps = 0;
+        int turns = 0;
+
+        // same conditions as in the game flow
+        while (level.moreBlocksLeft() && livesCounter.getValue() >= 0 && steps < this.maxSteps) {
+            level.startTurn();
+            turns++;
+
+            while (!level.shouldStop() && steps < this.maxSteps) {
+                if (this.script != null) {
+                    this.script.beforeStep(steps, this.keyboard);
+                }
+
+                level.step(this.dt);
+                steps++;
+            }
+
+            level.endTurn();
+        }
+
+        boolean cleared = !level.moreBlocksLeft();
+        boolean timedOut = !cleared && livesCounter.getValue() >= 0;
+
+        return new SimulationResult(information.levelName(), cleared, timedOut, steps, turns,
+                score.getValue(), livesCounter.getValue());
+    }
+}
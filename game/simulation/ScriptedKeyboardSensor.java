@@ -0,0 +1,51 @@
+package project.game.simulation;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import biuoop.KeyboardSensor;
+
+/**
+ * {@link ScriptedKeyboardSensor} is a {@link KeyboardSensor} which isn't bound to a real keyboard.
+ * Keys are pressed and released by code, so levels can be played without a gui.
+ * Without any presses it acts as a keyboard nobody touches.
+ */
+public class ScriptedKeyboardSensor implements KeyboardSensor {
+
+    private final Set<String> pressed;
+
+    /**
+     * Construct a new keyboard sensor with no pressed keys.
+     */
+    public ScriptedKeyboardSensor() {
+        this.pressed = new HashSet<>();
+    }
+
+    /**
+     * Press a key. It stays pressed until released.
+     * @param key : the key
+     */
+    public void press(String key) {
+        this.pressed.add(key);
+    }
+
+    /**
+     * Release a key.
+     * @param key : the key
+     */
+    public void release(String key) {
+        this.pressed.remove(key);
+    }
+
+    /**
+     * Release all the pressed keys.
+     */
+    public void releaseAll() {
+        this.pressed.clear();
+    }
+
+    @Override
+    public boolean isPressed(String key) {
+        return this.pressed.contains(key);
+    }
+}
@@ -0,0 +1,98 @@
+package project.game.simulation;
+
+/**
+ * {@link SimulationResult} is the outcome of simulating one level.
+ */
+public class SimulationResult {
+
+    private final String levelName;
+    private final boolean cleared;
+    private final boolean timedOut;
+    private final long steps;
+    private final int turns;
+    private final int score;
+    private final int lives;
+
+    /**
+     * Construct a new simulation result.
+     * @param levelName : the name of the simulated level
+     * @param cleared : whether all the blocks for removal were removed
+     * @param timedOut : whether the simulation was stopped by the steps limit
+     * @param steps : the amount of steps simulated
+     * @param turns : the amount of turns played
+     * @param score : the score at the end of the simulation
+     * @param lives : the lives left at the end of the simulation
+     */
+    public SimulationResult(String levelName, boolean cleared, boolean timedOut, long steps, int turns,
+            int score, int lives) {
+        this.levelName = levelName;
+        this.cleared = cleared;
+        this.timedOut = timedOut;
+        this.steps = steps;
+        this.turns = turns;
+        this.score = score;
+        this.lives = lives;
+    }
+
+    /**
+     * Get the name of the simulated level.
+     * @return the level name
+     */
+    public String levelName() {
+        return this.levelName;
+    }
+
+    /**
+     * Query whether all the blocks for removal were removed.
+     * @return true if they were. false otherwise.
+     */
+    public boolean cleared() {
+        return this.cleared;
+    }
+
+    /**
+     * Query whether the simulation was stopped by the steps limit.
+     * @return true if it was. false otherwise.
+     */
+    public boolean timedOut() {
+        return this.timedOut;
+    }
+
+    /**
+     * Get the amount of simulated steps.
+     * @return the amount of steps
+     */
+    public long steps() {
+        return this.steps;
+    }
+
+    /**
+     * Get the amount of played turns.
+     * @return the amount of turns
+     */
+    public int turns() {
+        return this.turns;
+    }
+
+    /**
+     * Get the score at the end of the simulation.
+     * @return the score
+     */
+    public int score() {
+        return this.score;
+    }
+
+    /**
+     * Get the lives left at the end of the simulation.
+     * @return the lives
+     */
+    public int lives() {
+        return this.lives;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: cleared=%b timedOut=%b steps=%d turns=%d score=%d lives=%d",
+                this.levelName, this.cleared, this.timedOut, this.steps, this.turns, this.score, this.lives);
+    }
+}
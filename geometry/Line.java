@@ -311,8 +311,8 @@ public class Line {
 
         /* go over all the intersections */
         for (Point p : intersections) {
-            // get the distance between p and this start
-            double currentDistance = p.distance(this.start);
+            // get the squared distance between p and this start
+            double currentDistance = p.distanceSquared(this.start);
 
             // if the current distance is less than the previous minimum, switch closest point
             if (currentDistance < minimumDistance) {
@@ -330,24 +330,14 @@ public class Line {
      * @return the closest {@link LineIntersection} to the start. or null if there's no intersection.
      */
     public LineIntersection closestIntersectionToStartLine(Rectangle rect) {
-        // get intersections
-        List<LineIntersection> intersections = rect.intersections(this);
+        RayHit hit = new RayHit();
 
-        if (intersections.size() == 0) {
+        // if there's no intersection
+        if (!rect.cast(this, hit)) {
             return null;
         }
 
-        // get pseudo-minimum
-        LineIntersection minimum = intersections.get(0);
-
-        // go over all the intersections and choose the one closest to the beginning of this line
-        for (LineIntersection intersection : intersections) {
-            if (intersection.compareDistanceToStartOfIntersecting(minimum) < 0) {
-                minimum = intersection;
-            }
-        }
-
-        return minimum;
+        return new LineIntersection(this, rect.getLine(hit.edge()), hit.asPoint());
     }
 
     /**
@@ -418,21 +408,20 @@ public class Line {
         }
 
         // the vector which will be added in whole multiplications to the start point
-        Vector2D additionVector = direction.perpendicular().multiply(spacing);
+        Vector2D additionVector = direction.perpendicular().multiplyInPlace(spacing);
 
         for (int i = 0; i < lines.length; i++) {
             // get how much to move
             int multiplicationFactor = i - mid;
-            Vector2D movement = additionVector.multiply(multiplicationFactor);
+            double moveX = additionVector.getX() * multiplicationFactor;
+            double moveY = additionVector.getY() * multiplicationFactor;
 
             // move to that start point
-            Point startOfLine = start().asVector().add(movement).asPoint();
-
-            // construct a line based on it
-            Line line = new Line(startOfLine, direction);
+            double startX = this.start.getX() + moveX;
+            double startY = this.start.getY() + moveY;
 
-            // put it
-            lines[i] = line;
+            // construct a line based on it, in the same direction
+            lines[i] = new Line(startX, startY, startX + direction.getX(), startY + direction.getY());
         }
 
         return lines;
@@ -53,6 +53,14 @@ public class LineIntersection {
         return intersectionPoint().distance(intersecting().start());
     }
 
+    /**
+     * Get the squared distance from the intersection point to the beginning of intersecting line.
+     * @return the distance squared
+     */
+    public double distanceSquaredToStartOfIntersectingLine() {
+        return intersectionPoint().distanceSquared(intersecting().start());
+    }
+
     /**
      * Compare the distances of both intersections from their start of line.
      * @param other : the other line to compare with
@@ -61,8 +69,9 @@ public class LineIntersection {
      *         a number lower than 0 if this line is closer to the beginning
      */
     public double compareDistanceToStartOfIntersecting(LineIntersection other) {
-        double currentDistance = distanceToStartOfIntersectingLine();
-        double otherDistance = other.distanceToStartOfIntersectingLine();
+        // squared distances keep the order of the distances
+        double currentDistance = distanceSquaredToStartOfIntersectingLine();
+        double otherDistance = other.distanceSquaredToStartOfIntersectingLine();
 
         return currentDistance - otherDistance;
     }
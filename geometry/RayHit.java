@@ -0,0 +1,94 @@
+package project.geometry;
+
+/**
+ * {@link RayHit} holds the result of casting a segment against a rectangle.
+ * It is supplied by the caller and filled in place, so that casting doesn't allocate anything.
+ */
+public class RayHit {
+
+    private double t;
+    private int edge;
+    private double x, y;
+
+    /**
+     * Construct a new empty {@link RayHit}.
+     */
+    public RayHit() {
+        this.edge = -1;
+    }
+
+    /**
+     * Set the result of a cast.
+     * @param tValue : the parameter on the segment
+     * @param edgeIndex : the index of the edge which was hit
+     * @param xValue : the x of the hit position
+     * @param yValue : the y of the hit position
+     */
+    void set(double tValue, int edgeIndex, double xValue, double yValue) {
+        this.t = tValue;
+        this.edge = edgeIndex;
+        this.x = xValue;
+        this.y = yValue;
+    }
+
+    /**
+     * Copy the result of another cast into this one.
+     * @param other : the other result
+     */
+    public void set(RayHit other) {
+        set(other.t, other.edge, other.x, other.y);
+    }
+
+    /**
+     * Get the parameter t of the hit, where the hit position is start + t * (end - start).
+     * @return a value in [0, 1]
+     */
+    public double t() {
+        return this.t;
+    }
+
+    /**
+     * Get the index of the rectangle edge which was hit.
+     * @return one of {@link Rectangle#TOP}, {@link Rectangle#RIGHT}, {@link Rectangle#BOTTOM}
+     *  and {@link Rectangle#LEFT}
+     */
+    public int edge() {
+        return this.edge;
+    }
+
+    /**
+     * Get the x of the hit position.
+     * @return the x
+     */
+    public double x() {
+        return this.x;
+    }
+
+    /**
+     * Get the y of the hit position.
+     * @return the y
+     */
+    public double y() {
+        return this.y;
+    }
+
+    /**
+     * Get the hit position as a new point.
+     * @return a point instance
+     */
+    public Point asPoint() {
+        return new Point(this.x, this.y);
+    }
+
+    /**
+     * Get the squared distance of the hit position from a given position.
+     * @param fromX : the x of the position
+     * @param fromY : the y of the position
+     * @return the distance squared
+     */
+    public double distanceSquared(double fromX, double fromY) {
+        double dx = this.x - fromX;
+        double dy = this.y - fromY;
+        return dx * dx + dy * dy;
+    }
+}
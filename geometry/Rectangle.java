@@ -5,13 +5,17 @@ import java.util.List;
 /**
  * Rectangle class.
  * Used to represent a rectangle in a 2D plane.
+ * The rectangle is kept as its bounds, its bounding points and lines are only made when asked for.
  */
 public class Rectangle {
 
-    private Point upperLeft;
+    private double left;
+    private double top;
     private int width;
     private int height;
 
+    // made on first use, and dropped when the rectangle moves
+    private Point upperLeft;
     private Point[] points;
     private Line[] lines;
 
@@ -22,14 +26,26 @@ public class Rectangle {
      * @param height : the height of the rectangle
      */
     public Rectangle(Point upperLeft, int width, int height) {
-        this.upperLeft = upperLeft;
+        this.left = upperLeft.getX();
+        this.top = upperLeft.getY();
         this.width = width;
         this.height = height;
 
-        // initialize the bounding points for this rectangle.
-        this.initPoints();
-        // initialize the bounding lines for this rectangle.
-        this.initLines();
+        this.upperLeft = upperLeft;
+    }
+
+    /**
+     * Construct a new Rectangle instance.
+     * @param left : the left x of the rectangle
+     * @param top : the top y of the rectangle
+     * @param width : the width of the rectangle
+     * @param height : the height of the rectangle
+     */
+    public Rectangle(double left, double top, int width, int height) {
+        this.left = left;
+        this.top = top;
+        this.width = width;
+        this.height = height;
     }
 
     /**
@@ -64,17 +80,24 @@ public class Rectangle {
     public static final int LEFT = 3;
 
     /**
-     * Initializes the bounding points array.
+     * Get the bounding points array, initializing it if needed.
+     * @return the bounding points, which shouldn't be modified
      */
-    private void initPoints() {
-        // 4 bounding points
-        this.points = new Point[BOUNDING_POINTS];
+    private Point[] points() {
+        if (this.points == null) {
+            // 4 bounding points
+            Point[] pts = new Point[BOUNDING_POINTS];
+
+            /* initialize and insert bounding points */
+            pts[UPPER_LEFT] = getUpperLeft();
+            pts[UPPER_RIGHT] = new Point(this.left + this.width, this.top);
+            pts[BOTTOM_RIGHT] = new Point(this.left + this.width, this.top + this.height);
+            pts[BOTTOM_LEFT] = new Point(this.left, this.top + this.height);
+
+            this.points = pts;
+        }
 
-        /* initialize and insert bounding points */
-        this.points[UPPER_LEFT] = this.upperLeft;
-        this.points[UPPER_RIGHT] = new Point(this.upperLeft.getX() + this.width, this.upperLeft.getY());
-        this.points[BOTTOM_RIGHT] = new Point(this.upperLeft.getX() + this.width, this.upperLeft.getY() + this.height);
-        this.points[BOTTOM_LEFT] = new Point(this.upperLeft.getX(), this.upperLeft.getY() + this.height);
+        return this.points;
     }
 
     /**
@@ -82,26 +105,30 @@ public class Rectangle {
      * @return the bounding points as {@link Point}[]
      */
     public Point[] getPoints() {
-        return this.points.clone();
+        return points().clone();
     }
 
     public static final int BOUNDING_LINES = 4;
 
     /**
-     * Initializes the bounding lines array.
+     * Get the bounding lines array, initializing it if needed.
+     * @return the bounding lines, which shouldn't be modified
      */
-    private void initLines() {
-        this.lines = new Line[BOUNDING_LINES];
-
-        /* initialize and insert bounding lines*/
-        for (int i = 0; i < BOUNDING_LINES; i++) {
-            // create start and end points for that bounding line
-            Point start = this.points[i];
-            Point end = this.points[(i + 1) % BOUNDING_LINES];
+    private Line[] lines() {
+        if (this.lines == null) {
+            Point[] pts = points();
+            Line[] ls = new Line[BOUNDING_LINES];
+
+            /* initialize and insert bounding lines*/
+            for (int i = 0; i < BOUNDING_LINES; i++) {
+                // the line from each bounding point to the next one
+                ls[i] = new Line(pts[i], pts[(i + 1) % BOUNDING_LINES]);
+            }
 
-            // insert the created line
-            this.lines[i] = new Line(start, end);
+            this.lines = ls;
         }
+
+        return this.lines;
     }
 
     /**
@@ -109,7 +136,78 @@ public class Rectangle {
      * @return the bounding lines as {@link Line}[]
      */
     public Line[] getLines() {
-        return this.lines.clone();
+        return lines().clone();
+    }
+
+    /**
+     * Get one bounding line of this rectangle, without copying all of them.
+     * @param index : the index of the line, one of {@link #TOP}, {@link #RIGHT}, {@link #BOTTOM} and {@link #LEFT}
+     * @return the bounding line
+     */
+    public Line getLine(int index) {
+        return lines()[index];
+    }
+
+    /**
+     * Get the index of the bounding line of this rectangle equal to a given line, without making the
+     *  bounding lines.
+     * @param line : the line
+     * @return the index of the line, one of {@link #TOP}, {@link #RIGHT}, {@link #BOTTOM} and {@link #LEFT},
+     *  or -1 if the line isn't a bounding line of this rectangle
+     */
+    public int edgeIndex(Line line) {
+        Point start = line.start();
+        Point end = line.end();
+
+        for (int i = 0; i < BOUNDING_LINES; i++) {
+            int next = (i + 1) % BOUNDING_LINES;
+
+            if (start.getX() == cornerX(i) && start.getY() == cornerY(i)
+                    && end.getX() == cornerX(next) && end.getY() == cornerY(next)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Get the x of a bounding point.
+     * @param index : the index of the point, one of {@link #UPPER_LEFT}, {@link #UPPER_RIGHT},
+     *  {@link #BOTTOM_RIGHT} and {@link #BOTTOM_LEFT}
+     * @return the x
+     */
+    private double cornerX(int index) {
+        return index == UPPER_RIGHT || index == BOTTOM_RIGHT ? this.left + this.width : this.left;
+    }
+
+    /**
+     * Get the y of a bounding point.
+     * @param index : the index of the point, one of {@link #UPPER_LEFT}, {@link #UPPER_RIGHT},
+     *  {@link #BOTTOM_RIGHT} and {@link #BOTTOM_LEFT}
+     * @return the y
+     */
+    private double cornerY(int index) {
+        return index == BOTTOM_RIGHT || index == BOTTOM_LEFT ? this.top + this.height : this.top;
+    }
+
+    /**
+     * Move this rectangle, keeping its size. The bounding points and lines given out before are not
+     *  changed, they stay the ones of the previous position.
+     * @param newLeft : the new left x
+     * @param newTop : the new top y
+     */
+    public void moveTo(double newLeft, double newTop) {
+        if (newLeft == this.left && newTop == this.top) {
+            return;
+        }
+
+        this.left = newLeft;
+        this.top = newTop;
+
+        this.upperLeft = null;
+        this.points = null;
+        this.lines = null;
     }
 
     /**
@@ -133,9 +231,45 @@ public class Rectangle {
      * @return the upper left point
      */
     public Point getUpperLeft() {
+        if (this.upperLeft == null) {
+            this.upperLeft = new Point(this.left, this.top);
+        }
+
         return this.upperLeft;
     }
 
+    /**
+     * Get the left x of this rectangle.
+     * @return the x
+     */
+    public double getLeft() {
+        return this.left;
+    }
+
+    /**
+     * Get the top y of this rectangle.
+     * @return the y
+     */
+    public double getTop() {
+        return this.top;
+    }
+
+    /**
+     * Get the right x of this rectangle.
+     * @return the x
+     */
+    public double getRight() {
+        return this.left + this.width;
+    }
+
+    /**
+     * Get the bottom y of this rectangle.
+     * @return the y
+     */
+    public double getBottom() {
+        return this.top + this.height;
+    }
+
     /**
      * Get a list of the intersection points of a given line with this rectangle.
      * @param line : a given line
@@ -143,9 +277,10 @@ public class Rectangle {
      */
     public List<Point> intersectionPoints(Line line) {
         List<Point> pts = new ArrayList<>();
+        Line[] ls = lines();
 
         /* go over all the bounding lines of this rectangle */
-        for (int i = 0; i < this.lines.length; i++) {
+        for (int i = 0; i < ls.length; i++) {
             /* a line can't have more than 2 intersection points with a rectangle.
              *  (unless intersects at both vertices)
              */
@@ -153,7 +288,7 @@ public class Rectangle {
                 break;
             }
 
-            Line boundingLine = this.lines[i];
+            Line boundingLine = ls[i];
 
             // if there is an intersection
             if (boundingLine.isIntersecting(line)) {
@@ -180,7 +315,7 @@ public class Rectangle {
         List<LineIntersection> intersections = new ArrayList<>();
 
         /* go over each bounding line of this rectangle */
-        for (Line boundingLine : this.lines) {
+        for (Line boundingLine : lines()) {
             // if there is an intersection between the lines
             if (boundingLine.isIntersecting(line)) {
                 // get the intersection point
@@ -194,13 +329,156 @@ public class Rectangle {
         return intersections;
     }
 
+    /**
+     * Find the first edge of an axis aligned rectangle crossed by a segment(slab test).
+     * The segment is (x0, y0) + t * (dx, dy) for t in [0, 1]. If the segment starts outside of the rectangle
+     *  the hit is where it enters the rectangle, otherwise it is where it leaves it. A segment sliding
+     *  along an edge only hits the rectangle where it enters or leaves it.
+     * This method doesn't allocate anything, the result is written into the given {@link RayHit}.
+     * @param x0 : the x of the start of the segment
+     * @param y0 : the y of the start of the segment
+     * @param dx : the x difference between the end and the start of the segment
+     * @param dy : the y difference between the end and the start of the segment
+     * @param left : the left x of the rectangle
+     * @param top : the top y of the rectangle
+     * @param width : the width of the rectangle
+     * @param height : the height of the rectangle
+     * @param hit : the result holder, only modified if there was a hit
+     * @return true if the segment crosses an edge of the rectangle. false otherwise.
+     */
+    public static boolean castSegment(double x0, double y0, double dx, double dy,
+            double left, double top, double width, double height, RayHit hit) {
+        // the range of t inside each slab, and the edges at the borders of that range
+        double xNear, xFar;
+        int xNearEdge, xFarEdge;
+
+        /* the vertical slab */
+        if (dx == 0) {
+            if (x0 < left || x0 > left + width) {
+                return false;
+            }
+
+            xNear = Double.NEGATIVE_INFINITY;
+            xFar = Double.POSITIVE_INFINITY;
+            xNearEdge = -1;
+            xFarEdge = -1;
+        } else if (dx > 0) {
+            xNear = (left - x0) / dx;
+            xFar = (left + width - x0) / dx;
+            xNearEdge = LEFT;
+            xFarEdge = RIGHT;
+        } else {
+            xNear = (left + width - x0) / dx;
+            xFar = (left - x0) / dx;
+            xNearEdge = RIGHT;
+            xFarEdge = LEFT;
+        }
+
+        double yNear, yFar;
+        int yNearEdge, yFarEdge;
+
+        /* the horizontal slab */
+        if (dy == 0) {
+            if (y0 < top || y0 > top + height) {
+                return false;
+            }
+
+            yNear = Double.NEGATIVE_INFINITY;
+            yFar = Double.POSITIVE_INFINITY;
+            yNearEdge = -1;
+            yFarEdge = -1;
+        } else if (dy > 0) {
+            yNear = (top - y0) / dy;
+            yFar = (top + height - y0) / dy;
+            yNearEdge = TOP;
+            yFarEdge = BOTTOM;
+        } else {
+            yNear = (top + height - y0) / dy;
+            yFar = (top - y0) / dy;
+            yNearEdge = BOTTOM;
+            yFarEdge = TOP;
+        }
+
+        /* in a flat rectangle the opposite edges are the same, prefer the lower index */
+        if (width == 0 && dx != 0) {
+            xNearEdge = RIGHT;
+            xFarEdge = RIGHT;
+        }
+
+        if (height == 0 && dy != 0) {
+            yNearEdge = TOP;
+            yFarEdge = TOP;
+        }
+
+        // the range of t inside the rectangle
+        double near = Math.max(xNear, yNear);
+        double far = Math.min(xFar, yFar);
+
+        // if the line misses the rectangle, or the segment ends before it or starts after it
+        if (near > far || near > 1 || far < 0) {
+            return false;
+        }
+
+        double t;
+        int edge;
+
+        if (near >= 0) {
+            // entering the rectangle, on a corner the edge with the lower index is chosen
+            t = near;
+            edge = chooseEdge(xNear, xNearEdge, yNear, yNearEdge);
+        } else if (far <= 1) {
+            // starting inside the rectangle, so the first crossed edge is the one it leaves through
+            t = far;
+            edge = chooseEdge(-xFar, xFarEdge, -yFar, yFarEdge);
+        } else {
+            // the whole segment is inside the rectangle
+            return false;
+        }
+
+        hit.set(t, edge, x0 + t * dx, y0 + t * dy);
+        return true;
+    }
+
+    /**
+     * Choose the edge matching the larger of two slab values(or the lower edge index if equal).
+     * @param xValue : the value of the vertical slab
+     * @param xEdge : the edge of the vertical slab
+     * @param yValue : the value of the horizontal slab
+     * @param yEdge : the edge of the horizontal slab
+     * @return the chosen edge
+     */
+    private static int chooseEdge(double xValue, int xEdge, double yValue, int yEdge) {
+        if (xValue > yValue) {
+            return xEdge;
+        } else if (yValue > xValue) {
+            return yEdge;
+        } else {
+            return Math.min(xEdge, yEdge);
+        }
+    }
+
+    /**
+     * Find the first edge of this rectangle crossed by a given segment.
+     * @param segment : the segment
+     * @param hit : the result holder, only modified if there was a hit
+     * @return true if the segment crosses an edge of this rectangle. false otherwise.
+     * @see #castSegment(double, double, double, double, double, double, double, double, RayHit)
+     */
+    public boolean cast(Line segment, RayHit hit) {
+        double x0 = segment.start().getX();
+        double y0 = segment.start().getY();
+
+        return castSegment(x0, y0, segment.end().getX() - x0, segment.end().getY() - y0,
+                this.left, this.top, this.width, this.height, hit);
+    }
+
     /**
      * If a point is on the rectangle, get the line containing it.
      * @param p : the point
      * @return the line containing the point or null if no line contains it.
      */
     public Line getLineContaining(Point p) {
-        for (Line line : this.lines) {
+        for (Line line : lines()) {
             if (line.contains(p)) {
                 return line;
             }
@@ -218,12 +496,16 @@ public class Rectangle {
     private double distance(Point p, int lineIndex) {
         switch(lineIndex) {
         case TOP:
+            return Math.abs(this.top - p.getY());
+
         case BOTTOM:
-            return Math.abs(this.lines[lineIndex].start().getY() - p.getY());
+            return Math.abs(getBottom() - p.getY());
 
         case LEFT:
+            return Math.abs(this.left - p.getX());
+
         case RIGHT:
-            return Math.abs(this.lines[lineIndex].start().getX() - p.getX());
+            return Math.abs(getRight() - p.getX());
 
         default:
             return Double.NaN;
@@ -238,18 +520,18 @@ public class Rectangle {
      */
     public Line getClosestLine(Point point) {
         double minimum = Double.POSITIVE_INFINITY;
-        Line l = null;
+        int closest = -1;
 
-        for (int i = 0; i < this.lines.length; i++) {
+        for (int i = 0; i < BOUNDING_LINES; i++) {
             double dis = distance(point, i);
 
             if (dis < minimum) {
-                l = this.lines[i];
+                closest = i;
                 minimum = dis;
             }
         }
 
-        return l;
+        return closest < 0 ? null : getLine(closest);
     }
 
     /**
@@ -258,22 +540,33 @@ public class Rectangle {
      * @return true if is a vertex. false otherwise
      */
     public boolean isVertex(Point p) {
+        return isVertex(this.left, this.top, this.width, this.height, p);
+    }
+
+    /**
+     * Query whether a point is a vertex of an axis aligned rectangle, without making the rectangle.
+     * @param left : the left x of the rectangle
+     * @param top : the top y of the rectangle
+     * @param width : the width of the rectangle
+     * @param height : the height of the rectangle
+     * @param p : the point
+     * @return true if is a vertex. false otherwise
+     */
+    public static boolean isVertex(double left, double top, double width, double height, Point p) {
         final double epsilon = 3D;
 
-        for (Point vertex : this.points) {
-            if (vertex.distance(p) < epsilon) {
-                return true;
-            }
-        }
+        // the distance to the closest vertex on each axis
+        double dx = Math.min(Math.abs(p.getX() - left), Math.abs(p.getX() - (left + width)));
+        double dy = Math.min(Math.abs(p.getY() - top), Math.abs(p.getY() - (top + height)));
 
-        return false;
+        return dx * dx + dy * dy < epsilon * epsilon;
     }
 
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
 
-        for (Point p : this.points) {
+        for (Point p : points()) {
             if (builder.length() > 0) {
                 builder.append(", ");
             }
@@ -292,8 +585,8 @@ public class Rectangle {
      */
     public boolean contains(Point point) {
         // get distances
-        double dx = point.getX() - this.upperLeft.getX();
-        double dy = point.getY() - this.upperLeft.getY();
+        double dx = point.getX() - this.left;
+        double dy = point.getY() - this.top;
 
         return (dx > 0 && dx < this.width) && (dy > 0 && dy < this.height);
     }
@@ -7,6 +7,9 @@ public class Vector2D {
     public static final Vector2D X_UNIT = new Vector2D(1, 0);
     public static final Vector2D Y_UNIT = new Vector2D(0, 1);
 
+    // the relative tolerance used when comparing directions(the sine of the largest angle between them)
+    public static final double DIRECTION_EPSILON = 1e-9;
+
     private double x;
     private double y;
 
@@ -86,7 +89,7 @@ public class Vector2D {
      * @return a new vector which is the addition result
      */
     public Vector2D add(double xVal, double yVal) {
-        return this.add(new Vector2D(xVal, yVal));
+        return new Vector2D(this.x + xVal, this.y + yVal);
     }
 
     /**
@@ -95,26 +98,98 @@ public class Vector2D {
      * @return a new vector which is the subtraction result.
      */
     public Vector2D subtract(Vector2D v) {
-        return this.add(v.multiply(-1));
+        return new Vector2D(this.x - v.x, this.y - v.y);
+    }
+
+    /* in-place operations, used by moving objects in order not to create new vectors every frame */
+
+    /**
+     * Set both coordinates of this vector.
+     * @param xVal : the new x coordinate
+     * @param yVal : the new y coordinate
+     * @return this vector
+     */
+    public Vector2D set(double xVal, double yVal) {
+        this.x = xVal;
+        this.y = yVal;
+        return this;
+    }
+
+    /**
+     * Set the coordinates of this vector to the coordinates of another vector.
+     * @param v : the other vector
+     * @return this vector
+     */
+    public Vector2D set(Vector2D v) {
+        return set(v.x, v.y);
+    }
+
+    /**
+     * Add given coordinates to this vector, without creating a new vector.
+     * @param xVal : the x value to add
+     * @param yVal : the y value to add
+     * @return this vector
+     */
+    public Vector2D addInPlace(double xVal, double yVal) {
+        this.x += xVal;
+        this.y += yVal;
+        return this;
+    }
+
+    /**
+     * Add another vector to this vector, without creating a new vector.
+     * @param v : the vector to add
+     * @return this vector
+     */
+    public Vector2D addInPlace(Vector2D v) {
+        return addInPlace(v.x, v.y);
+    }
+
+    /**
+     * Multiply this vector by a scalar, without creating a new vector.
+     * @param scalar : the scalar
+     * @return this vector
+     */
+    public Vector2D multiplyInPlace(double scalar) {
+        this.x *= scalar;
+        this.y *= scalar;
+        return this;
     }
 
     /**
      * Get the angle with the upper positive part of the x axis.
-     * @return the angle in degrees
+     * The collision code compares directions using {@link #cross(Vector2D)} and {@link #dot(Vector2D)},
+     *  so this is only needed when an actual angle is required.
+     * @return the angle in degrees, in the range [-90, 270)
      */
     public double angle() {
-        double val = this.x == 0 ? Math.PI / 2 : Math.atan(this.y / this.x);
+        // the zero vector has no direction, keep the value it always had
+        if (isZero()) {
+            return 90;
+        }
 
+        double val = Math.toDegrees(Math.atan2(this.y, this.x));
 
-        if (this.x < 0) {
-            // if this is a special case(3rd and 2nd quadrants)
-            val += Math.PI;
-        } else if (this.x == 0 && this.y < 0) {
-            // if on the negative side of the y axis
-            val *= -1;
-        }
+        // move the 3rd quadrant from (-180, -90) to (180, 270)
+        return val < -90 ? val + 360 : val;
+    }
 
-        return Math.toDegrees(val);
+    /**
+     * Get the dot product of this vector and another vector.
+     * @param v : the other vector
+     * @return the dot product
+     */
+    public double dot(Vector2D v) {
+        return this.x * v.x + this.y * v.y;
+    }
+
+    /**
+     * Get the cross product(the z coordinate of it) of this vector and another vector.
+     * @param v : the other vector
+     * @return the cross product, which is 0 if the vectors are on the same line
+     */
+    public double cross(Vector2D v) {
+        return this.x * v.y - this.y * v.x;
     }
 
     /**
@@ -122,26 +197,49 @@ public class Vector2D {
      * @return the length
      */
     public double length() {
-        double xSquared = this.x * this.x;
-        double ySquared = this.y * this.y;
-        return Math.sqrt(xSquared + ySquared);
+        return Math.sqrt(lengthSquared());
+    }
+
+    /**
+     * Get the squared length of this vector.
+     * @return the length squared
+     */
+    public double lengthSquared() {
+        return this.x * this.x + this.y * this.y;
     }
 
     /**
      * Query whether a given vector is on the same line as this one.
      * @param v : the other vector
-     * @return true if they are. false otherwise.
+     * @return true if they are(zero vectors are on no line). false otherwise.
      */
     public boolean onSameLine(Vector2D v) {
-        return sameDirection(v) || opposite().sameDirection(v);
+        return parallel(v);
     }
+
     /**
      * Query whether a given vector and this vector are pointing in the same direction.
      * @param v : the other vector
-     * @return true if they are. false otherwise.
+     * @return true if they are(zero vectors have no direction). false otherwise.
      */
     public boolean sameDirection(Vector2D v) {
-        return this.angle() == v.angle();
+        return parallel(v) && dot(v) > 0;
+    }
+
+    /**
+     * Query whether a given vector is parallel to this one, up to {@link #DIRECTION_EPSILON}.
+     * |a x b| = |a||b|sin(angle), so comparing the squares avoids both roots and trigonometry.
+     * @param v : the other vector
+     * @return true if both vectors are not zero and parallel. false otherwise.
+     */
+    private boolean parallel(Vector2D v) {
+        double lengths = lengthSquared() * v.lengthSquared();
+        if (lengths == 0) {
+            return false;
+        }
+
+        double cross = cross(v);
+        return cross * cross <= DIRECTION_EPSILON * DIRECTION_EPSILON * lengths;
     }
 
     /**
@@ -154,29 +252,29 @@ public class Vector2D {
     }
 
     /**
-     * Get a perpendicular unit vector to this one.
-     * @return a perpendicular vector.
+     * Get a perpendicular unit vector to this one(rotated by 90 degrees counterclockwise on the screen).
+     * @return a perpendicular vector, or null if this is the zero vector.
      */
     public Vector2D perpendicular() {
-        if (this.x == 0 && this.y == 0) {
+        if (isZero()) {
             return null;
-        } else {
-            double perpendicularAngle = angle() + Math.PI / 2;
-            return Point.fromDistanceAndAngle(1, perpendicularAngle).asVector();
         }
+
+        double inverseLength = 1 / length();
+        return new Vector2D(this.y * inverseLength, -this.x * inverseLength);
     }
 
     /**
      * Make a vector turn into a unit vector in the same direction.
-     * @return the vector
+     * @return a new unit vector, or null if this is the zero vector.
      */
     public Vector2D unitize() {
         if (isZero()) {
             return null;
-        } else {
-            double angle = angle();
-            return Point.fromDistanceAndAngle(1, angle).asVector();
         }
+
+        double inverseLength = 1 / length();
+        return new Vector2D(this.x * inverseLength, this.y * inverseLength);
     }
 
     /**
@@ -39,7 +39,17 @@ public class Velocity {
      * @return a new point which is the next position
      */
     public Point applyToPoint(Point p) {
-        return new Point(p.getX() + this.vx, p.getY() + this.vy);
+        return applyToPoint(p, 1);
+    }
+
+    /**
+     * Get the position of a point after moving at this velocity for a given time.
+     * @param p : the point
+     * @param dt : the time passed
+     * @return a new point which is the position after that time
+     */
+    public Point applyToPoint(Point p, double dt) {
+        return new Point(p.getX() + this.vx * dt, p.getY() + this.vy * dt);
     }
 
     /**
@@ -102,6 +112,16 @@ public class Velocity {
      * @return the speed
      */
     public double speed() {
-        return asVector().length();
+        return Math.sqrt(this.vx * this.vx + this.vy * this.vy);
+    }
+
+    /**
+     * Set both components of this velocity.
+     * @param dx : the new velocity on the x-axis
+     * @param dy : the new velocity on the y-axis
+     */
+    public void set(double dx, double dy) {
+        this.vx = dx;
+        this.vy = dy;
     }
 }
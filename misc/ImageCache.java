@@ -0,0 +1,184 @@
+package project.misc;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+/**
+ * {@link ImageCache} is a process-wide cache of the images read from the class-path.
+ * Every image is decoded once and converted to the format of the screen, which is much faster to draw.
+ * Images drawn at a fixed size(such as block backgrounds) are also kept at that size.
+ * The cache is bounded by the bytes of its images, the least recently used images are dropped first.
+ */
+public final class ImageCache {
+
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    // every pixel of a compatible image takes an int
+    private static final int BYTES_PER_PIXEL = 4;
+
+    // ordered from the least recently used
+    private static final Map<String, BufferedImage> IMAGES = new LinkedHashMap<>(16, 0.75f, true);
+
+    private static long bytes;
+    private static long maxBytes = DEFAULT_MAX_BYTES;
+
+    /**
+     * This class only has static methods.
+     */
+    private ImageCache() { }
+
+    /**
+     * Get an image from the class-path, decoding it only if it isn't cached.
+     * @param path : the class-path of the image
+     * @return the image, or null if it couldn't be read
+     */
+    public static synchronized BufferedImage getImage(String path) {
+        BufferedImage img = IMAGES.get(path);
+
+        if (img != null) {
+            return img;
+        }
+
+        try (InputStream is = Utils.getResource(path)) {
+            Image decoded = ImageIO.read(is);
+
+            if (decoded == null) {
+                return null;
+            }
+
+            img = toCompatible(decoded, decoded.getWidth(null), decoded.getHeight(null));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+
+        put(path, img);
+        return img;
+    }
+
+    /**
+     * Get an image from the class-path at a given size. The image isn't scaled, the part of it outside of
+     *  the size is dropped(and the rest of the size is left transparent).
+     * @param path : the class-path of the image
+     * @param width : the width
+     * @param height : the height
+     * @return the image, or null if it couldn't be read
+     */
+    public static synchronized BufferedImage getImage(String path, int width, int height) {
+        String key = path + "@" + width + "x" + height;
+        BufferedImage img = IMAGES.get(key);
+
+        if (img != null) {
+            return img;
+        }
+
+        BufferedImage full = getImage(path);
+
+        if (full == null || width <= 0 || height <= 0) {
+            return null;
+        }
+
+        // already at that size
+        if (full.getWidth() == width && full.getHeight() == height) {
+            return full;
+        }
+
+        img = toCompatible(full, width, height);
+        put(key, img);
+        return img;
+    }
+
+    /**
+     * Set the most bytes the cached images may take, dropping images if they take more.
+     * @param max : the bytes
+     */
+    public static synchronized void setMaxBytes(long max) {
+        maxBytes = max;
+        evict(null);
+    }
+
+    /**
+     * Drop all the cached images.
+     */
+    public static synchronized void clear() {
+        IMAGES.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Convert an image to the format of the screen, at a given size.
+     * @param src : the image
+     * @param width : the width of the new image
+     * @param height : the height of the new image
+     * @return the new image, with the source drawn at its top left corner
+     */
+    public static BufferedImage toCompatible(Image src, int width, int height) {
+        // an image of a different size might not cover all of it
+        boolean opaque = src instanceof BufferedImage
+                && ((BufferedImage) src).getTransparency() == Transparency.OPAQUE
+                && src.getWidth(null) >= width && src.getHeight(null) >= height;
+
+        BufferedImage img;
+
+        if (GraphicsEnvironment.isHeadless()) {
+            img = new BufferedImage(width, height, opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        } else {
+            img = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+                    .createCompatibleImage(width, height, opaque ? Transparency.OPAQUE : Transparency.TRANSLUCENT);
+        }
+
+        Graphics2D graphics = img.createGraphics();
+        graphics.drawImage(src, 0, 0, null);
+        graphics.dispose();
+
+        return img;
+    }
+
+    /**
+     * Cache an image, dropping the least recently used images if the cache takes too many bytes.
+     * @param key : the key of the image
+     * @param img : the image
+     */
+    private static void put(String key, BufferedImage img) {
+        IMAGES.put(key, img);
+        bytes += sizeOf(img);
+
+        evict(key);
+    }
+
+    /**
+     * Drop the least recently used images until the cache takes few enough bytes.
+     * @param keep : the key of an image which is never dropped, might be null
+     */
+    private static void evict(String keep) {
+        Iterator<Map.Entry<String, BufferedImage>> it = IMAGES.entrySet().iterator();
+
+        while (bytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, BufferedImage> entry = it.next();
+
+            if (!entry.getKey().equals(keep)) {
+                bytes -= sizeOf(entry.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Get the bytes an image takes.
+     * @param img : the image
+     * @return the bytes
+     */
+    private static long sizeOf(BufferedImage img) {
+        return (long) img.getWidth() * img.getHeight() * BYTES_PER_PIXEL;
+    }
+}
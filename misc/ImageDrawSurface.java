@@ -0,0 +1,103 @@
+package project.misc;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Polygon;
+
+import biuoop.DrawSurface;
+
+/**
+ * {@link ImageDrawSurface} is a {@link DrawSurface} drawing on an offscreen image, through its graphics.
+ * It draws the same way the gui surface does, so sprites can be drawn into images ahead of time.
+ */
+public class ImageDrawSurface implements DrawSurface {
+
+    private final Graphics2D graphics;
+    private final int width;
+    private final int height;
+
+    /**
+     * Construct a new surface drawing with given graphics.
+     * @param graphics : the graphics of the image
+     * @param width : the width of the image
+     * @param height : the height of the image
+     */
+    public ImageDrawSurface(Graphics2D graphics, int width, int height) {
+        this.graphics = graphics;
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public void drawImage(int x, int y, Image img) {
+        this.graphics.drawImage(img, x, y, null);
+    }
+
+    @Override
+    public void drawCircle(int x, int y, int r) {
+        this.graphics.drawOval(x - r, y - r, 2 * r, 2 * r);
+    }
+
+    @Override
+    public void fillCircle(int x, int y, int r) {
+        this.graphics.fillOval(x - r, y - r, 2 * r, 2 * r);
+    }
+
+    @Override
+    public void drawOval(int x, int y, int w, int h) {
+        this.graphics.drawOval(x, y, w, h);
+    }
+
+    @Override
+    public void fillOval(int x, int y, int w, int h) {
+        this.graphics.fillOval(x, y, w, h);
+    }
+
+    @Override
+    public void drawLine(int x1, int y1, int x2, int y2) {
+        this.graphics.drawLine(x1, y1, x2, y2);
+    }
+
+    @Override
+    public void drawRectangle(int x, int y, int w, int h) {
+        this.graphics.drawRect(x, y, w, h);
+    }
+
+    @Override
+    public void fillRectangle(int x, int y, int w, int h) {
+        this.graphics.fillRect(x, y, w, h);
+    }
+
+    @Override
+    public void drawPolygon(Polygon p) {
+        this.graphics.drawPolygon(p);
+    }
+
+    @Override
+    public void fillPolygon(Polygon p) {
+        this.graphics.fillPolygon(p);
+    }
+
+    @Override
+    public void setColor(Color color) {
+        this.graphics.setColor(color);
+    }
+
+    @Override
+    public int getWidth() {
+        return this.width;
+    }
+
+    @Override
+    public int getHeight() {
+        return this.height;
+    }
+
+    @Override
+    public void drawText(int x, int y, String text, int fontSize) {
+        this.graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, fontSize));
+        this.graphics.drawString(text, x, y);
+    }
+}
@@ -0,0 +1,195 @@
+package project.misc;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * {@link SlotList} is an ordered list of distinct objects(compared by identity), where every object
+ *  keeps its slot until the list is compacted.
+ * Removing an object only empties its slot, so objects might be added and removed while the list is
+ *  iterated over, and the owner of the list compacts it when nothing iterates over it(such as between
+ *  frames). Iterating is done by index over [0, end()), skipping the empty slots:
+ * <pre>
+ * int end = list.end();
+ * for (int i = 0; i &lt; end; i++) {
+ *     T t = list.get(i);
+ *     if (t != null) { ... }
+ * }
+ * </pre>
+ * Objects added during such a loop are placed after its end, so they are only reached by the next one.
+ * @param <T> : the type of objects in this list
+ */
+public class SlotList<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] slots;
+
+    // the amount of used slots(including the empty ones), and the amount of objects
+    private int end;
+    private int size;
+
+    // the slot of every object
+    private final Map<T, Integer> indices;
+
+    /**
+     * Construct a new empty list.
+     * @param capacity : the amount of slots the list has before growing
+     */
+    public SlotList(int capacity) {
+        this.slots = new Object[Math.max(capacity, 1)];
+        this.indices = new IdentityHashMap<>();
+    }
+
+    /**
+     * Construct a new empty list.
+     */
+    public SlotList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Add an object at the end of this list.
+     * @param t : the object
+     * @return true if it was added. false if it's already in this list.
+     */
+    public boolean add(T t) {
+        if (this.indices.containsKey(t)) {
+            return false;
+        }
+
+        // the list is never compacted here, someone might be iterating over it
+        if (this.end == this.slots.length) {
+            this.slots = Arrays.copyOf(this.slots, this.slots.length * 2);
+        }
+
+        this.slots[this.end] = t;
+        this.indices.put(t, this.end);
+
+        this.end++;
+        this.size++;
+        return true;
+    }
+
+    /**
+     * Remove an object from this list, emptying its slot.
+     * @param o : the object
+     * @return true if it was in this list. false otherwise.
+     */
+    public boolean remove(Object o) {
+        Integer index = this.indices.remove(o);
+
+        if (index == null) {
+            return false;
+        }
+
+        this.slots[index] = null;
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Query whether an object is in this list.
+     * @param o : the object
+     * @return true if it is. false otherwise.
+     */
+    public boolean contains(Object o) {
+        return this.indices.containsKey(o);
+    }
+
+    /**
+     * Get the amount of objects in this list.
+     * @return the amount
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Query whether this list is empty.
+     * @return true if it is. false otherwise.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Get the amount of used slots, including the empty ones.
+     * @return the end of the slots
+     */
+    public int end() {
+        return this.end;
+    }
+
+    /**
+     * Get the object in a slot.
+     * @param i : the index of the slot, in [0, end())
+     * @return the object, or null if the slot is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int i) {
+        return (T) this.slots[i];
+    }
+
+    /**
+     * Query whether at least half of the used slots are empty.
+     * @return true if they are. false otherwise.
+     */
+    public boolean isSparse() {
+        return this.end > 2 * this.size;
+    }
+
+    /**
+     * Move all the objects to the first slots, keeping their order. This must not be called while
+     *  iterating over this list.
+     */
+    public void compact() {
+        // nothing was removed since the last time
+        if (this.size == this.end) {
+            return;
+        }
+
+        int next = 0;
+
+        for (int i = 0; i < this.end; i++) {
+            @SuppressWarnings("unchecked")
+            T t = (T) this.slots[i];
+
+            if (t != null) {
+                if (i != next) {
+                    this.slots[next] = t;
+                    this.indices.put(t, next);
+                }
+
+                next++;
+            }
+        }
+
+        Arrays.fill(this.slots, next, this.end, null);
+        this.end = next;
+    }
+
+    /**
+     * Copy the objects of this list into an array.
+     * @param a : an array to copy into if it's large enough, its type is the type of the returned array
+     * @return an array of the objects, in order
+     */
+    @SuppressWarnings("unchecked")
+    public T[] toArray(T[] a) {
+        T[] array = a.length >= this.size ? a : Arrays.copyOf(a, this.size);
+        int next = 0;
+
+        for (int i = 0; i < this.end; i++) {
+            if (this.slots[i] != null) {
+                array[next++] = (T) this.slots[i];
+            }
+        }
+
+        if (array.length > next) {
+            array[next] = null;
+        }
+
+        return array;
+    }
+}